@@ -0,0 +1,225 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi.S2APIFunctions;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PersistenceManager;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PersonJPAAccess;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
+
+/**
+ * Enhances all persons of the database with Semantic Scholar data. The persons are read page by page in the order of their IDs,
+ * each page is enhanced as one batch by a pool of worker threads, which save every person on its own, see {@link BatchEnhancer}. The requests to Semantic Scholar
+ * are limited by its shared rate limiter, see {@link de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi.SemanticScholarAPIRequest#setRateLimiter(HostRateLimiter)}.
+ * After every batch, the highest ID up to which all batches are done is written to a checkpoint file, so a run that was stopped
+ * continues after it. A batch that could not be saved or ran into errors stops the checkpoint for the rest of the run, so the next run
+ * tries it again. The file is deleted once all persons are done
+ */
+public class AuthorEnricher {
+	private static Logger logger = LogManager.getLogger(AuthorEnricher.class);
+	private final int threads;
+	private final int batchSize;
+	private final Path checkpointFile;
+	private final AtomicLong succeeded = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private boolean checkpointStopped; //only used by the thread calling run
+
+	/**
+	 * @param threads How many persons are enhanced at the same time
+	 * @param batchSize How many persons are read per page and enhanced by one thread in a row
+	 * @param checkpointFile The file to store the progress in, null to always start at the beginning
+	 */
+	public AuthorEnricher(int threads, int batchSize, Path checkpointFile) {
+		if(threads < 1 || batchSize < 1)
+			throw new IllegalArgumentException("threads and batchSize need to be positive");
+
+		this.threads = threads;
+		this.batchSize = batchSize;
+		this.checkpointFile = checkpointFile;
+	}
+
+	/**
+	 * Enhances the persons after the last checkpoint and waits until all of them are saved
+	 * @param limit How many persons to enhance at most, a negative number for all
+	 */
+	public void run(long limit) {
+		PersonJPAAccess personFiler = new PersonJPAAccess();
+		ExecutorService workers = Executors.newFixedThreadPool(threads);
+		Deque<Batch> running = new ArrayDeque<>();
+		long after = readCheckpoint(checkpointFile);
+		long submitted = 0;
+		boolean complete = false;
+
+		if(after > 0)
+			logger.info("Continuing after person {} from checkpoint \"{}\"", after, checkpointFile);
+
+		try {
+			while(limit < 0 || submitted < limit) {
+				List<Long> ids = personFiler.getIDsAfter(after, (int)(limit < 0 ? batchSize : Math.min(batchSize, limit - submitted)));
+
+				PersistenceManager.getEntityManager().clear(); //the IDs are all that is needed on this thread
+
+				if(ids.isEmpty()) {
+					complete = true;
+					break;
+				}
+
+				after = ids.get(ids.size() - 1);
+				submitted += ids.size();
+				running.add(new Batch(workers.submit(() -> enhanceBatch(ids)), after));
+
+				while(running.size() > threads) //enough batches to keep every thread busy are queued
+					finish(running.poll());
+			}
+
+			while(!running.isEmpty())
+				finish(running.poll());
+
+			if(complete && !checkpointStopped)
+				deleteCheckpoint(checkpointFile);
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.warn("Interrupted while enhancing persons, the next run continues after the last checkpoint");
+		}
+		finally {
+			workers.shutdownNow();
+			PersistenceManager.closeEntityManager();
+		}
+
+		logger.info("Enhanced {} persons, {} failed", succeeded.get(), failed.get());
+	}
+
+	/**
+	 * Waits for a batch to be done and moves the checkpoint behind it. The batches are finished in the order they were started,
+	 * so all persons up to the checkpoint are done. After the first batch that failed, the checkpoint is not moved anymore
+	 * @param batch The oldest running batch
+	 * @throws InterruptedException If the thread is interrupted while waiting
+	 */
+	void finish(Batch batch) throws InterruptedException {
+		boolean done;
+
+		try {
+			done = batch.future.get();
+		}
+		catch(ExecutionException e) { //only the persons of this batch are affected
+			logger.error("Could not enhance the persons up to {}", batch.lastID, e.getCause());
+			done = false;
+		}
+
+		if(!done && !checkpointStopped) {
+			checkpointStopped = true;
+			logger.warn("Not all persons up to {} could be enhanced, the next run continues after the last checkpoint", batch.lastID);
+		}
+
+		if(!checkpointStopped)
+			writeCheckpoint(checkpointFile, batch.lastID);
+	}
+
+	/**
+	 * Enhances a batch of persons and saves them, see {@link BatchEnhancer#enhance(Class, List, BatchEnhancer.Enhancement, BatchEnhancer.Progress)}
+	 * @param ids The IDs of the persons to enhance
+	 * @return true if every person of the batch was saved and either enhanced or unknown to Semantic Scholar
+	 */
+	private boolean enhanceBatch(List<Long> ids) {
+		return BatchEnhancer.enhance(Person.class, ids, person -> S2APIFunctions.completeAuthorInformationByAuthorSearch(person, false), new BatchEnhancer.Progress() {
+			@Override
+			public void succeeded(Object id) {
+				succeeded.incrementAndGet();
+			}
+
+			@Override
+			public void failed(Object id, String reason) {
+				failed.incrementAndGet();
+				logger.debug("Could not enhance person {}: {}", id, reason);
+			}
+		});
+	}
+
+	/**
+	 * @param checkpointFile The checkpoint file, may be null
+	 * @return The ID stored in the checkpoint file, 0 if there is none or it can't be read
+	 */
+	static long readCheckpoint(Path checkpointFile) {
+		if(checkpointFile == null || !Files.exists(checkpointFile))
+			return 0;
+
+		try {
+			return Long.parseLong(new String(Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8).trim());
+		}
+		catch(IOException | NumberFormatException e) {
+			logger.warn("Could not read checkpoint \"{}\", starting at the beginning", checkpointFile, e);
+			return 0;
+		}
+	}
+
+	/**
+	 * Stores the given ID in the checkpoint file. Writes to a temporary file first and moves it in place afterwards,
+	 * so a crash while writing does not destroy the previous checkpoint
+	 * @param checkpointFile The checkpoint file, null to do nothing
+	 * @param id The ID up to which all persons are done
+	 */
+	static void writeCheckpoint(Path checkpointFile, long id) {
+		if(checkpointFile == null)
+			return;
+
+		try {
+			Path directory = checkpointFile.toAbsolutePath().getParent();
+			Path tmp = Files.createTempFile(directory, "checkpoint", ".tmp");
+
+			Files.write(tmp, Long.toString(id).getBytes(StandardCharsets.UTF_8));
+			Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(IOException e) {
+			logger.warn("Could not write checkpoint \"{}\"", checkpointFile, e);
+		}
+	}
+
+	/**
+	 * Deletes the checkpoint file, so the next run starts at the beginning
+	 * @param checkpointFile The checkpoint file, null to do nothing
+	 */
+	static void deleteCheckpoint(Path checkpointFile) {
+		if(checkpointFile == null)
+			return;
+
+		try {
+			Files.deleteIfExists(checkpointFile);
+		}
+		catch(IOException e) {
+			logger.warn("Could not delete checkpoint \"{}\"", checkpointFile, e);
+		}
+	}
+
+	/**
+	 * A batch that is being enhanced
+	 */
+	static class Batch {
+		private final Future<Boolean> future;
+		private final long lastID;
+
+		/**
+		 * @param future The future of the worker enhancing the batch, true if the batch was done completely
+		 * @param lastID The highest ID of the batch
+		 */
+		Batch(Future<Boolean> future, long lastID) {
+			this.future = future;
+			this.lastID = lastID;
+		}
+	}
+}
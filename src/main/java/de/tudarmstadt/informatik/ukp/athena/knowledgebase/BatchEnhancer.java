@@ -0,0 +1,158 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.persistence.PersistenceException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONException;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PaperJPAAccess;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PersistenceManager;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PersonJPAAccess;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Model;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Paper;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
+
+/**
+ * Enhances a batch of entities with Semantic Scholar data and saves each of them in its own transaction. Used by worker threads, each with their own
+ * EntityManager, which is only in a transaction while saving and not while waiting for Semantic Scholar. Saving is done by one worker at a time
+ * and replaces the papers and persons an enhancement created by the ones that were saved before, see {@link DuplicateResolver}.
+ * So the same paper or person is only created once, no matter which worker enhanced its authors. Writes that don't go through this class
+ * (e.g. a crawler running at the same time) are not checked
+ */
+public class BatchEnhancer {
+	private static Logger logger = LogManager.getLogger(BatchEnhancer.class);
+	private static final Object saveLock = new Object();
+
+	private BatchEnhancer() {}
+
+	/**
+	 * Loads every entity of the batch, enhances it and saves it. Entities that could not be enhanced are not saved,
+	 * so nothing that was changed before the failure is kept. The EntityManager of the thread is closed afterwards,
+	 * as worker threads are reused for other batches and should not keep stale entities
+	 * @param type The model class of the entities, non-null
+	 * @param ids The IDs of the entities to enhance, non-null
+	 * @param enhancement Enhances a single entity in-place, non-null
+	 * @param progress Is told about every entity that was saved or could not be enhanced, non-null
+	 * @return true if every entity was saved and either enhanced or unknown to Semantic Scholar, false if the batch should be tried again
+	 */
+	public static <T extends Model> boolean enhance(Class<T> type, List<?> ids, Enhancement<? super T> enhancement, Progress progress) {
+		EntityManager entityManager = PersistenceManager.getEntityManager();
+		boolean complete = true;
+
+		try {
+			for(Object id : ids) {
+				T model = entityManager.find(type, id);
+
+				if(model == null) { //deleted in the meantime
+					progress.failed(id, "not found");
+					continue;
+				}
+
+				try {
+					if(enhancement.enhance(model)) {
+						save(model);
+						progress.succeeded(id);
+					}
+					else
+						progress.failed(id, "not found on Semantic Scholar");
+				}
+				catch(IOException | JSONException e) {
+					progress.failed(id, e.toString());
+					complete = false;
+				}
+				catch(PersistenceException e) {
+					logger.error("Could not save the enhanced {} {}", type.getSimpleName(), id, e);
+					progress.failed(id, "could not be saved: " + e);
+					complete = false;
+					PersistenceManager.closeEntityManager(); //its entities are in an undefined state after a failed commit
+					entityManager = PersistenceManager.getEntityManager();
+				}
+				catch(RuntimeException e) { //e.g. an unexpected response, only this entity is affected
+					logger.warn("Could not enhance {} {}", type.getSimpleName(), id, e);
+					progress.failed(id, e.toString());
+					complete = false;
+				}
+
+				entityManager.clear(); //don't save what was changed before a failure and don't keep the saved entities in memory
+			}
+
+			return complete;
+		}
+		finally {
+			PersistenceManager.closeEntityManager();
+		}
+	}
+
+	/**
+	 * Saves an enhanced entity and everything it is connected to. Runs under a lock shared by all workers, so the lookups of
+	 * {@link DuplicateResolver} see every paper and person that another worker created
+	 * @param model The enhanced entity, managed by the EntityManager of the current thread
+	 * @throws PersistenceException If saving fails
+	 */
+	private static void save(Model model) {
+		synchronized(saveLock) {
+			PersistenceManager.runInTransaction(manager -> {
+				manager.setFlushMode(FlushModeType.COMMIT); //the lookups must not save the new entities before they were checked
+				new DuplicateResolver(entity -> !manager.contains(entity), BatchEnhancer::findPaper, BatchEnhancer::findPerson).resolve(model);
+			});
+		}
+	}
+
+	/**
+	 * @param paper A new paper
+	 * @return The saved paper with the same Semantic Scholar ID or title, null if there is none
+	 */
+	private static Paper findPaper(Paper paper) {
+		List<Paper> found = new PaperJPAAccess().getByKnownAttributes(paper);
+
+		return found == null || found.isEmpty() ? null : found.get(0);
+	}
+
+	/**
+	 * @param person A new person
+	 * @return The saved person with the same Semantic Scholar ID or name, null if there is none
+	 */
+	private static Person findPerson(Person person) {
+		List<Person> found = new PersonJPAAccess().getByKnownAttributes(person);
+
+		return found == null || found.isEmpty() ? null : found.get(0);
+	}
+
+	/**
+	 * Enhances a single entity in-place
+	 */
+	@FunctionalInterface
+	public interface Enhancement<T> {
+		/**
+		 * @param model The entity to enhance
+		 * @return false if Semantic Scholar does not know the entity
+		 * @throws IOException If the connection to Semantic Scholar fails
+		 * @throws JSONException If Semantic Scholar responds with invalid JSON
+		 */
+		boolean enhance(T model) throws IOException, JSONException;
+	}
+
+	/**
+	 * Is told what happened to the entities of a batch
+	 */
+	public interface Progress {
+		/**
+		 * Called for every entity that was enhanced and saved
+		 * @param id The ID of the entity
+		 */
+		void succeeded(Object id);
+
+		/**
+		 * Called for every entity that could not be enhanced or saved
+		 * @param id The ID of the entity
+		 * @param reason Why it failed
+		 */
+		void failed(Object id, String reason);
+	}
+}
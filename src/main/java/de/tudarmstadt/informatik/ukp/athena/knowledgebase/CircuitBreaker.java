@@ -0,0 +1,80 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops all requests to a service for a while once too many requests to it failed in a row, instead of letting every thread
+ * run into the same errors. After the pause, requests are let through again. If the next one fails as well, the service is paused again,
+ * the first successful one closes the breaker
+ */
+public class CircuitBreaker {
+	private final int failureThreshold;
+	private final long openNanos;
+	private int consecutiveFailures = 0;
+	private long openUntil;
+	private boolean open = false;
+
+	/**
+	 * @param failureThreshold How many requests have to fail in a row to pause the service
+	 * @param openMillis How long to pause the service for, in milliseconds
+	 */
+	public CircuitBreaker(int failureThreshold, long openMillis) {
+		if(failureThreshold < 1 || openMillis < 0)
+			throw new IllegalArgumentException("failureThreshold needs to be positive and openMillis must not be negative");
+
+		this.failureThreshold = failureThreshold;
+		this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+	}
+
+	/**
+	 * Waits until requests may be sent to the service again, returns right away if it's not paused
+	 * @throws InterruptedException If the thread is interrupted while waiting
+	 */
+	public void awaitClosed() throws InterruptedException {
+		long wait = getRemainingNanos(System.nanoTime());
+
+		if(wait > 0)
+			TimeUnit.NANOSECONDS.sleep(wait);
+	}
+
+	/**
+	 * Counts a successful request, which closes the breaker
+	 */
+	public synchronized void recordSuccess() {
+		consecutiveFailures = 0;
+		open = false;
+	}
+
+	/**
+	 * Counts a failed request
+	 * @return true if this failure paused the service
+	 */
+	public boolean recordFailure() {
+		return recordFailure(System.nanoTime());
+	}
+
+	/**
+	 * Counts a failed request. Requests that were already sent before the service was paused don't extend the pause
+	 * @param now The current time in nanoseconds, see {@link System#nanoTime()}
+	 * @return true if this failure paused the service
+	 */
+	synchronized boolean recordFailure(long now) {
+		consecutiveFailures++;
+
+		if(consecutiveFailures >= failureThreshold && getRemainingNanos(now) == 0) {
+			open = true;
+			openUntil = now + openNanos;
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * @param now The current time in nanoseconds, see {@link System#nanoTime()}
+	 * @return How many nanoseconds the service is still paused for, 0 if it's not paused
+	 */
+	synchronized long getRemainingNanos(long now) {
+		return open ? Math.max(0, openUntil - now) : 0;
+	}
+}
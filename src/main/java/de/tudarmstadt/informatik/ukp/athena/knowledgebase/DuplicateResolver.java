@@ -0,0 +1,228 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.hibernate.Hibernate;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Model;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Paper;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
+
+/**
+ * Replaces the papers and persons that an enhancement created by the ones that already exist with the same Semantic Scholar ID or
+ * title/name, right before they are saved. The lookups can't see entities that are not saved yet, so without this the same paper
+ * would be created once for every author enhanced in the same batch or at the same time by another worker, see {@link BatchEnhancer}.
+ * New entities that are duplicates of each other are merged, too
+ */
+class DuplicateResolver {
+	private final Predicate<Model> isNew;
+	private final Function<Paper,Paper> paperLookup;
+	private final Function<Person,Person> personLookup;
+	private final Map<String,Paper> knownPapers = new HashMap<>();
+	private final Map<String,Person> knownPersons = new HashMap<>();
+	private final Map<Model,Model> replacements = new IdentityHashMap<>();
+
+	/**
+	 * @param isNew Checks if an entity was created by the enhancement and is not saved yet
+	 * @param paperLookup Finds the saved paper with the Semantic Scholar ID or title of the given one, null if there is none
+	 * @param personLookup Finds the saved person with the Semantic Scholar ID or name of the given one, null if there is none
+	 */
+	DuplicateResolver(Predicate<Model> isNew, Function<Paper,Paper> paperLookup, Function<Person,Person> personLookup) {
+		this.isNew = isNew;
+		this.paperLookup = paperLookup;
+		this.personLookup = personLookup;
+	}
+
+	/**
+	 * Replaces every new paper and person reachable from the enhanced entity that already exists. The replaced entities are not
+	 * referenced anymore, so they are not saved by the cascades. Only what the enhancement touched is visited, collections
+	 * that were not loaded can't contain new entities
+	 * @param enhanced The enhanced paper or person, non-null
+	 */
+	void resolve(Model enhanced) {
+		List<Model> graph = collect(enhanced);
+
+		for(Model model : graph) {
+			if(!isNew.test(model))
+				continue;
+
+			if(model instanceof Paper) {
+				Paper paper = (Paper)model;
+
+				replace(paper, findOriginal(paper, paper.getSemanticScholarID(), paper.getTitle(), knownPapers, paperLookup));
+			}
+			else if(model instanceof Person) {
+				Person person = (Person)model;
+
+				replace(person, findOriginal(person, person.getSemanticScholarID(), person.getFullName(), knownPersons, personLookup));
+			}
+		}
+
+		for(Model model : graph) {
+			if(!replacements.containsKey(model))
+				reconnect(model);
+		}
+	}
+
+	/**
+	 * @param enhanced The enhanced paper or person
+	 * @return Every paper and person reachable through loaded associations, starting with the enhanced one
+	 */
+	private List<Model> collect(Model enhanced) {
+		Set<Model> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<Model> queue = new ArrayDeque<>();
+		List<Model> graph = new ArrayList<>();
+
+		queue.add(enhanced);
+		seen.add(enhanced);
+		while(!queue.isEmpty()) {
+			Model model = queue.poll();
+
+			graph.add(model);
+			if(!Hibernate.isInitialized(model)) //a proxy that was never used, e.g. one of the top 5 influenced authors
+				continue;
+
+			List<Model> neighbours = new ArrayList<>();
+
+			if(model instanceof Paper && Hibernate.isInitialized(((Paper)model).getAuthors()))
+				neighbours.addAll(((Paper)model).getAuthors());
+			else if(model instanceof Person) {
+				Person person = (Person)model;
+
+				if(Hibernate.isInitialized(person.getPapers()))
+					neighbours.addAll(person.getPapers());
+
+				neighbours.addAll(person.getTop5influenced());
+				neighbours.addAll(person.getTop5influencedBy());
+			}
+
+			for(Model neighbour : neighbours) {
+				if(seen.add(neighbour))
+					queue.add(neighbour);
+			}
+		}
+
+		return graph;
+	}
+
+	/**
+	 * Finds the entity a new one is a duplicate of, first among the new entities that were already handled, then among the saved ones
+	 * @param model The new entity
+	 * @param semanticScholarID The Semantic Scholar ID of the entity, may be null
+	 * @param name The title/name of the entity, may be null
+	 * @param known The handled entities by their Semantic Scholar ID and normalized title/name
+	 * @param lookup Finds a saved entity
+	 * @return The entity to use instead, the given one if it is no duplicate
+	 */
+	private <T extends Model> T findOriginal(T model, String semanticScholarID, String name, Map<String,T> known, Function<T,T> lookup) {
+		String idKey = semanticScholarID == null || semanticScholarID.isEmpty() ? null : "id:" + semanticScholarID;
+		String nameKey = name == null || name.trim().isEmpty() ? null : "name:" + normalize(name);
+		T original = idKey == null ? null : known.get(idKey);
+
+		if(original == null && nameKey != null)
+			original = known.get(nameKey);
+
+		if(original == null && (idKey != null || nameKey != null))
+			original = lookup.apply(model);
+
+		if(original == null)
+			original = model;
+
+		if(idKey != null)
+			known.putIfAbsent(idKey, original);
+
+		if(nameKey != null)
+			known.putIfAbsent(nameKey, original);
+
+		return original;
+	}
+
+	/**
+	 * Remembers to use the original instead of a new entity
+	 * @param model The new entity
+	 * @param original The entity to use instead, may be the new one itself
+	 */
+	private void replace(Model model, Model original) {
+		if(original != model)
+			replacements.put(model, original);
+	}
+
+	/**
+	 * Connects a kept entity to the originals instead of the replaced ones. Both sides of an author-paper connection are updated,
+	 * as the person's side decides what is saved
+	 * @param model The paper or person that is kept
+	 */
+	private void reconnect(Model model) {
+		if(!Hibernate.isInitialized(model) || replacements.isEmpty())
+			return;
+
+		if(model instanceof Paper && Hibernate.isInitialized(((Paper)model).getAuthors())) {
+			Paper paper = (Paper)model;
+
+			for(Person author : new ArrayList<>(paper.getAuthors())) {
+				Person original = (Person)replacements.get(author);
+
+				if(original != null) {
+					paper.getAuthors().remove(author);
+					paper.getAuthors().add(original);
+					original.getPapers().add(paper);
+				}
+			}
+		}
+		else if(model instanceof Person) {
+			Person person = (Person)model;
+
+			if(Hibernate.isInitialized(person.getPapers())) {
+				for(Paper paper : new ArrayList<>(person.getPapers())) {
+					Paper original = (Paper)replacements.get(paper);
+
+					if(original != null) {
+						person.getPapers().remove(paper);
+						person.getPapers().add(original);
+						original.getAuthors().add(person);
+					}
+				}
+			}
+
+			if(person.getTop5influenced().stream().anyMatch(replacements::containsKey))
+				person.setTop5influenced(replaceAll(person.getTop5influenced()));
+
+			if(person.getTop5influencedBy().stream().anyMatch(replacements::containsKey))
+				person.setTop5influencedBy(replaceAll(person.getTop5influencedBy()));
+		}
+	}
+
+	/**
+	 * @param persons Persons, some of which may be replaced
+	 * @return The persons with the replaced ones exchanged for their originals, in the same order
+	 */
+	private List<Person> replaceAll(List<Person> persons) {
+		List<Person> replaced = new ArrayList<>();
+
+		for(Person person : persons) {
+			replaced.add((Person)replacements.getOrDefault(person, person));
+		}
+
+		return replaced;
+	}
+
+	/**
+	 * Normalizes a title/name, so differences in case and whitespace don't matter (like in the database, which compares case-insensitively)
+	 * @param name The title/name, non-null
+	 * @return The normalized title/name
+	 */
+	private static String normalize(String name) {
+		return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,148 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the amount of requests per second that are sent to each host, using one token bucket per host.
+ * Every request takes a token, tokens are refilled at a constant rate up to the burst size. If no token is left, the caller waits
+ * until it's their turn, so threads waiting for the same host are served in the order they asked
+ */
+public class HostRateLimiter {
+	private final double permitsPerSecond;
+	private final double burst;
+	private final Map<String,Bucket> buckets = new ConcurrentHashMap<>();
+
+	/**
+	 * @param permitsPerSecond How many requests per second may be sent to one host
+	 * @param burst How many requests may be sent to one host at once after it has not been used for a while
+	 */
+	public HostRateLimiter(double permitsPerSecond, int burst) {
+		if(permitsPerSecond <= 0 || burst < 1)
+			throw new IllegalArgumentException("permitsPerSecond and burst need to be positive");
+
+		this.permitsPerSecond = permitsPerSecond;
+		this.burst = burst;
+	}
+
+	/**
+	 * Waits until a request may be sent to the host of the given URL. If the host is paused while waiting, the caller waits for the pause as well
+	 * @param url The URL that is going to be requested
+	 * @throws InterruptedException If the thread is interrupted while waiting
+	 */
+	public void acquire(String url) throws InterruptedException {
+		String host = getHost(url);
+		long wait = reserve(host, System.nanoTime());
+
+		while(wait > 0) {
+			TimeUnit.NANOSECONDS.sleep(wait);
+			wait = reserveAfterPause(host, System.nanoTime());
+		}
+	}
+
+	/**
+	 * Makes sure that no request is sent to the host of the given URL for the given time, e.g. because the host responded with a Retry-After header
+	 * @param url The URL whose host should be paused
+	 * @param millis How long to pause the host for, in milliseconds
+	 */
+	public void pause(String url, long millis) {
+		pause(getHost(url), millis, System.nanoTime());
+	}
+
+	/**
+	 * Takes a token from the bucket of the given host
+	 * @param host The host to take the token from
+	 * @param now The current time in nanoseconds, see {@link System#nanoTime()}
+	 * @return How many nanoseconds the caller has to wait until the token is available, 0 if it's available right away
+	 */
+	long reserve(String host, long now) {
+		Bucket bucket = buckets.computeIfAbsent(host, h -> new Bucket(burst, now));
+
+		synchronized(bucket) {
+			bucket.refill(now);
+			bucket.tokens--; //may become negative, which queues this caller behind the others that are already waiting
+
+			return bucket.tokens >= 0 ? 0 : (long)(-bucket.tokens / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+		}
+	}
+
+	/**
+	 * Takes another token if the host was paused while the caller waited for its previous one, which was taken before the pause.
+	 * Otherwise callers that were already waiting would send their requests during the pause
+	 * @param host The host to take the token from
+	 * @param now The current time in nanoseconds, see {@link System#nanoTime()}
+	 * @return How many nanoseconds the caller has to wait until the new token is available, 0 if the host is not paused
+	 */
+	long reserveAfterPause(String host, long now) {
+		Bucket bucket = buckets.computeIfAbsent(host, h -> new Bucket(burst, now));
+
+		synchronized(bucket) {
+			return bucket.pausedUntil - now > 0 ? reserve(host, now) : 0;
+		}
+	}
+
+	/**
+	 * Removes the tokens of the given host so that the next token is only available after the given time.
+	 * Pauses don't add up, so several threads that get the same Retry-After only pause the host once. A longer pause wins over a shorter one
+	 * @param host The host to pause
+	 * @param millis How long to pause the host for, in milliseconds
+	 * @param now The current time in nanoseconds, see {@link System#nanoTime()}
+	 */
+	void pause(String host, long millis, long now) {
+		Bucket bucket = buckets.computeIfAbsent(host, h -> new Bucket(burst, now));
+
+		synchronized(bucket) {
+			bucket.refill(now);
+			bucket.tokens = Math.min(bucket.tokens, -millis / 1000.0D * permitsPerSecond);
+
+			if(now + TimeUnit.MILLISECONDS.toNanos(millis) - bucket.pausedUntil > 0) //compared by difference, as nanoTime may overflow
+				bucket.pausedUntil = now + TimeUnit.MILLISECONDS.toNanos(millis);
+		}
+	}
+
+	/**
+	 * @param url The URL to get the host of
+	 * @return The host of the URL, the URL itself if it is malformed
+	 */
+	private static String getHost(String url) {
+		try {
+			return new URL(url).getHost();
+		}
+		catch(MalformedURLException e) {
+			return url;
+		}
+	}
+
+	/**
+	 * The tokens of one host
+	 */
+	private class Bucket {
+		private double tokens;
+		private long lastRefill;
+		private long pausedUntil; //in nanoseconds, in the past if the host is not paused
+
+		/**
+		 * @param tokens The initial amount of tokens
+		 * @param now The current time in nanoseconds
+		 */
+		private Bucket(double tokens, long now) {
+			this.tokens = tokens;
+			lastRefill = now;
+			pausedUntil = now;
+		}
+
+		/**
+		 * Adds the tokens that accumulated since the last refill
+		 * @param now The current time in nanoseconds
+		 */
+		private void refill(long now) {
+			if(now > lastRefill) {
+				tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+				lastRefill = now;
+			}
+		}
+	}
+}
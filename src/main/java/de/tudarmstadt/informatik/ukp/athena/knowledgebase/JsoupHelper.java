@@ -1,13 +1,43 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
 
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jsoup.Connection;
+import org.jsoup.HttpStatusException;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 
 public class JsoupHelper {
 	private static Logger logger = LogManager.getLogger(JsoupHelper.class);
 	public static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/72.0.3626.82 Safari/537.36 Viv/2.3.1440.41";
+	private static final long BASE_BACKOFF = 500; //milliseconds
+	private static final long MAX_BACKOFF = TimeUnit.SECONDS.toMillis(30);
+	private static final long MAX_RETRY_AFTER = TimeUnit.MINUTES.toMillis(5);
+	private static ResponseCache cache = null;
+	private static HostRateLimiter rateLimiter = new HostRateLimiter(8, 8);
+
+	/**
+	 * Sets the cache that responses are stored in and looked up from before connecting
+	 * @param responseCache The cache to use, null to disable caching
+	 */
+	public static void setCache(ResponseCache responseCache) {
+		cache = responseCache;
+	}
+
+	/**
+	 * Sets the rate limiter that every request has to pass before it is sent
+	 * @param limiter The limiter to use, null to send requests without limiting them
+	 */
+	public static void setRateLimiter(HostRateLimiter limiter) {
+		rateLimiter = limiter;
+	}
 
 	/**
 	 * Connects to the given URL with the default user agent (JsoupHelper.USER_AGENT). If the connection fails, it tries again 4 more times (5 tries total)
@@ -46,6 +76,8 @@ public class JsoupHelper {
 	/**
 	 * Connects to the given URL with the given user agent. If the connection fails, it tries again.
 	 * If no tries are left, the method will exit and the program execution can continue without interruption
+	 * Between tries, the method waits for an exponentially growing, jittered time or as long as the server asks to via Retry-After
+	 * If a cache is set, a fresh cached response is returned without connecting and an outdated one is revalidated with the server
 	 * @param url The URL to connect to
 	 * @param userAgent The user agent to connect with
 	 * @param errorMessage The error message that should show when no tries are left
@@ -53,23 +85,163 @@ public class JsoupHelper {
 	 * @return The {@link org.jsoup.nodes.Document Document} of the given url, null if the connection was unsuccessful and no tries are left
 	 */
 	public static Document connect(String url, String userAgent, String errorMessage, int tries) {
+		ResponseCache.Entry cached = cache == null ? null : cache.get(url);
+
+		if(cached != null && cached.isFresh()) {
+			try {
+				return cached.toDocument();
+			}
+			catch(IOException e) {
+				logger.warn("\"{}\": Could not read cached response, connecting instead", url);
+				cached = null;
+			}
+		}
+
+		if(cache != null && cache.isOffline()) {
+			logger.error("\"{}\": No cached response available in offline mode", url);
+			return null;
+		}
+
 		for(int i = 0; i < tries; i++) {
 			Document doc;
 
 			try {
-				doc = Jsoup.connect(url).userAgent(userAgent).get();
+				if(rateLimiter != null)
+					rateLimiter.acquire(url);
+
+				doc = fetch(url, userAgent, cached);
 
 				if(i != 0)
 					logger.info("\"{}\": Tries taken: {}", url, i + 1);
 
 				return doc; //the above line did not error, so nothing was catched -> connection successfully established
 			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				logger.error("\"{}\": Interrupted while connecting", url);
+				return null;
+			}
 			catch(Exception e) {
 				logger.warn("\"{}\": Tries left: {}", url, tries - i - 1);
+
+				if(i + 1 < tries) {
+					long delay = getBackoffDelay(i);
+
+					if(e instanceof RetryAfterException) {
+						delay = Math.max(delay, ((RetryAfterException)e).delay);
+
+						if(rateLimiter != null) //the whole host is overloaded, so the other threads should wait as well
+							rateLimiter.pause(url, delay);
+					}
+
+					try {
+						Thread.sleep(delay);
+					}
+					catch(InterruptedException ie) {
+						Thread.currentThread().interrupt();
+						logger.error("\"{}\": Interrupted while waiting to retry", url);
+						return null;
+					}
+				}
 			}
 		}
 
 		logger.error(errorMessage, tries);
 		return null;
 	}
+
+	/**
+	 * Sends one request to the given URL. If there is a cached response, the request is conditional and the cached response is used if the server did not change it
+	 * @param url The URL to connect to
+	 * @param userAgent The user agent to connect with
+	 * @param cached The outdated cached response of the URL, null if there is none
+	 * @return The {@link org.jsoup.nodes.Document Document} of the given url
+	 * @throws IOException If the connection fails
+	 */
+	private static Document fetch(String url, String userAgent, ResponseCache.Entry cached) throws IOException {
+		Connection connection = Jsoup.connect(url).userAgent(userAgent).ignoreHttpErrors(true); //error statuses are handled below to be able to read Retry-After
+
+		if(cached != null) {
+			if(cached.getETag() != null)
+				connection.header("If-None-Match", cached.getETag());
+
+			if(cached.getLastModified() != null)
+				connection.header("If-Modified-Since", cached.getLastModified());
+		}
+
+		Connection.Response response = connection.execute();
+		int status = response.statusCode();
+
+		if(status == 429 || status == 503) { //too many requests, service unavailable
+			long retryAfter = parseRetryAfter(response.header("Retry-After"));
+
+			throw new RetryAfterException(status, url, Math.min(retryAfter, MAX_RETRY_AFTER));
+		}
+		else if(status >= 400)
+			throw new HttpStatusException("HTTP error fetching URL", status, url);
+
+		if(cached != null && response.statusCode() == 304) { //not modified
+			cache.refresh(cached);
+			return cached.toDocument();
+		}
+
+		if(cache != null) //the body needs to be read before parsing, jsoup can't read it afterwards
+			cache.put(url, response.header("ETag"), response.header("Last-Modified"), response.charset(), response.bodyAsBytes());
+
+		return response.parse();
+	}
+
+	/**
+	 * Calculates how long to wait before the next try. The delay doubles with each try and is randomized between half and the full delay,
+	 * so that threads which failed at the same time don't all try again at the same time
+	 * @param attempt The index of the try that failed, starting at 0
+	 * @return How long to wait in milliseconds
+	 */
+	public static long getBackoffDelay(int attempt) {
+		long delay = Math.min(MAX_BACKOFF, BASE_BACKOFF << Math.min(attempt, 16)); //limit the shift to not overflow
+
+		return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+	}
+
+	/**
+	 * Parses the value of a Retry-After header, which is either an amount of seconds or an HTTP date
+	 * @param value The value of the header
+	 * @return How long to wait in milliseconds, 0 if the value is missing or cannot be parsed
+	 */
+	public static long parseRetryAfter(String value) {
+		if(value == null || value.trim().isEmpty())
+			return 0;
+
+		value = value.trim();
+
+		try {
+			return Math.max(0, TimeUnit.SECONDS.toMillis(Long.parseLong(value)));
+		}
+		catch(NumberFormatException e) {} //not seconds, try a date
+
+		try {
+			return Math.max(0, ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() - System.currentTimeMillis());
+		}
+		catch(DateTimeParseException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Thrown when the server is overloaded, holds how long it asked to wait
+	 */
+	private static class RetryAfterException extends HttpStatusException {
+		private static final long serialVersionUID = 1L;
+		private final long delay;
+
+		/**
+		 * @param status The status code of the response
+		 * @param url The URL that was requested
+		 * @param delay How long to wait before trying again, in milliseconds
+		 */
+		private RetryAfterException(int status, String url, long delay) {
+			super("Server overloaded, retry after " + delay + "ms", status, url);
+			this.delay = delay;
+		}
+	}
 }
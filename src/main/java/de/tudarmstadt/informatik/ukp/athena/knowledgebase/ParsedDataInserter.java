@@ -1,6 +1,8 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -8,27 +10,25 @@ import java.util.List;
 import java.util.TimeZone;
 
 import javax.annotation.PostConstruct;
-import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.EnhanceJobs;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.CrawlerFacade;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.SupportedConferences;
-import de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi.S2APIFunctions;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi.SemanticScholarAPIRequest;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.CommonAccess;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.ConferenceJPAAccess;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.EventJPAAccess;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PaperJPAAccess;
-import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PersistenceManager;
-import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PersonJPAAccess;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.WorkshopJPAAccess;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Conference;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Event;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Paper;
-import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.ScheduleEntry;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Workshop;
 
@@ -41,6 +41,7 @@ import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Worksh
  */
 public class ParsedDataInserter {
 	private CrawlerFacade acl18WebParser;
+	private int batchSize = 50; //how many papers to insert per transaction
 	private static Logger logger = LogManager.getLogger(ParsedDataInserter.class);
 
 	/**
@@ -74,7 +75,18 @@ public class ParsedDataInserter {
 		ParsedDataInserter parsedDataInserter;
 		List<String> argsList = Arrays.asList(args); //for .contains
 		int beginYear = 2018, endYear = 2018;
+		int fetchThreads = 8;
+		int scraperThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
 		String[] conferences = null;
+		String cacheDir = null;
+		long cacheTTL = 24;
+		double requestsPerSecond = 8;
+		double s2RequestsPerSecond = SemanticScholarAPIRequest.defaultRequestsPerSecond;
+		int batchSize = 50;
+		int enrichThreads = 4;
+		long enrichLimit = -1;
+		String enrichCheckpoint = "enrich-authors.checkpoint";
+		int enhanceThreads = EnhanceJobs.DEFAULT_PARALLELISM, enhanceBatchSize = EnhanceJobs.DEFAULT_BATCH_SIZE, enhanceQueueSize = EnhanceJobs.DEFAULT_QUEUE_SIZE;
 
 		for(String arg : args) {
 			if(arg.startsWith("-beginYear="))
@@ -83,7 +95,34 @@ public class ParsedDataInserter {
 				endYear = Integer.parseInt(arg.split("=")[1]); //parse to make sure that it's a number
 			else if(arg.startsWith("-conferences="))
 				conferences = arg.replace("-conferences=", "").split(",");
-
+			else if(arg.startsWith("-fetchThreads="))
+				fetchThreads = Integer.parseInt(arg.split("=")[1]); //parse to make sure that it's a number
+			else if(arg.startsWith("-scraperThreads="))
+				scraperThreads = Integer.parseInt(arg.split("=")[1]); //parse to make sure that it's a number
+			else if(arg.startsWith("-cacheDir="))
+				cacheDir = arg.replace("-cacheDir=", "");
+			else if(arg.startsWith("-cacheTTL="))
+				cacheTTL = Long.parseLong(arg.split("=")[1]); //parse to make sure that it's a number
+			else if(arg.startsWith("-dbPoolSize=")) //read when the database is accessed for the first time, which is after parsing the arguments
+				System.setProperty("hibernate.hikari.maximumPoolSize", Integer.toString(Integer.parseInt(arg.split("=")[1]))); //parse to make sure that it's a number
+			else if(arg.startsWith("-batchSize="))
+				batchSize = Integer.parseInt(arg.split("=")[1]); //parse to make sure that it's a number
+			else if(arg.startsWith("-requestsPerSecond="))
+				requestsPerSecond = Double.parseDouble(arg.split("=")[1]); //parse to make sure that it's a number
+			else if(arg.startsWith("-s2RequestsPerSecond="))
+				s2RequestsPerSecond = Double.parseDouble(arg.split("=")[1]); //parse to make sure that it's a number
+			else if(arg.startsWith("-enrichThreads="))
+				enrichThreads = Integer.parseInt(arg.split("=")[1]); //parse to make sure that it's a number
+			else if(arg.startsWith("-enrichLimit="))
+				enrichLimit = Long.parseLong(arg.split("=")[1]); //parse to make sure that it's a number
+			else if(arg.startsWith("-enrichCheckpoint="))
+				enrichCheckpoint = arg.replace("-enrichCheckpoint=", "");
+			else if(arg.startsWith("-enhanceThreads="))
+				enhanceThreads = Integer.parseInt(arg.split("=")[1]); //parse to make sure that it's a number
+			else if(arg.startsWith("-enhanceBatchSize="))
+				enhanceBatchSize = Integer.parseInt(arg.split("=")[1]); //parse to make sure that it's a number
+			else if(arg.startsWith("-enhanceQueueSize="))
+				enhanceQueueSize = Integer.parseInt(arg.split("=")[1]); //parse to make sure that it's a number
 		}
 
 		if(beginYear > endYear) {
@@ -94,12 +133,50 @@ public class ParsedDataInserter {
 			endYear = temp;
 		}
 
+		if(requestsPerSecond > 0) {
+			JsoupHelper.setRateLimiter(new HostRateLimiter(requestsPerSecond, (int)Math.max(1, Math.ceil(requestsPerSecond))));
+			logger.info("Sending at most {} requests per second to each host", requestsPerSecond);
+		}
+		else {
+			JsoupHelper.setRateLimiter(null);
+			logger.info("Sending requests without limiting them");
+		}
+
+		if(s2RequestsPerSecond > 0) {
+			SemanticScholarAPIRequest.setRateLimiter(new HostRateLimiter(s2RequestsPerSecond, (int)Math.max(5, Math.ceil(s2RequestsPerSecond))));
+			logger.info("Sending at most {} requests per second to Semantic Scholar", s2RequestsPerSecond);
+		}
+		else {
+			SemanticScholarAPIRequest.setRateLimiter(null);
+			logger.info("Sending requests to Semantic Scholar without limiting them");
+		}
+
+		EnhanceJobs.configure(enhanceThreads, enhanceBatchSize, enhanceQueueSize); //for /enhance requests to the API
+		logger.info("Enhancing API results with {} threads in batches of {}, at most {} batches can wait", enhanceThreads, enhanceBatchSize, enhanceQueueSize);
+
+		if(cacheDir != null) {
+			try {
+				JsoupHelper.setCache(new ResponseCache(Paths.get(cacheDir), Duration.ofHours(cacheTTL), argsList.contains("-offline")));
+				SemanticScholarAPIRequest.setCache(new ResponseCache(Paths.get(cacheDir, "semanticscholar"), Duration.ofHours(cacheTTL), argsList.contains("-offline")));
+				logger.info("Caching responses in \"{}\" for {} hours{}", cacheDir, cacheTTL, argsList.contains("-offline") ? ", running offline" : "");
+			}
+			catch(IOException e) {
+				logger.error("Could not create the response cache in \"{}\", continuing without it", cacheDir, e);
+			}
+		}
+		else if(argsList.contains("-offline"))
+			logger.info("\"-offline\" needs \"-cacheDir=\" to be set, ignoring it");
+
 		if(conferences == null)
 			logger.info("No specific conferences given, will scrape papers and authors from all available conferences");
 		else
 			logger.info("Specific conferences given, will scrape papers and authors from the following: {}", Arrays.toString(conferences));
 
 		parsedDataInserter = new ParsedDataInserter(beginYear, endYear, conferences);
+		parsedDataInserter.acl18WebParser.setMaxConcurrentFetches(fetchThreads);
+		parsedDataInserter.acl18WebParser.setScraperThreads(scraperThreads);
+		parsedDataInserter.acl18WebParser.setDuplicateAvoidance(!argsList.contains("-noDuplicateAvoidance"));
+		parsedDataInserter.batchSize = batchSize;
 
 		//only scrape if respective argument was found
 		if(argsList.contains("-scrape-paper-author")) {
@@ -118,6 +195,13 @@ public class ParsedDataInserter {
 		else
 			logger.info("\"-scrape-acl18-info\" argument was not found, skipping ACL 2018 scraping");
 
+		if(argsList.contains("-enrich-authors")) {
+			logger.info("Enhancing authors with Semantic Scholar data using {} threads, this can take a long time...", enrichThreads);
+			new AuthorEnricher(enrichThreads, batchSize, enrichCheckpoint.isEmpty() ? null : Paths.get(enrichCheckpoint)).run(enrichLimit);
+		}
+		else
+			logger.info("\"-enrich-authors\" argument was not found, skipping author enhancement");
+
 		logger.info("Done! (Took {})", LocalTime.ofNanoOfDay(System.nanoTime() - then));
 		parsedDataInserter.acl18WebParser.close();
 	}
@@ -132,15 +216,16 @@ public class ParsedDataInserter {
 	private void aclStorePapersAndAuthors() throws IOException {
 		logger.info("Scraping papers and authors...");
 		ArrayList<Paper> papers = acl18WebParser.getPaperAuthor();
-		CommonAccess<Paper> paperFiler = new PaperJPAAccess();
-
-		logger.info("Inserting papers and authors into database...");
+		PaperJPAAccess paperFiler = new PaperJPAAccess();
 
-		for(Paper paper : papers) {
-			paperFiler.add(paper);
+		logger.info("Inserting papers and authors into database in chunks of {}...", batchSize);
+		try {
+			paperFiler.addAll(papers, batchSize);
+			logger.info("Done inserting papers and authors!");
+		}
+		catch(PersistenceException e) {
+			logger.error("Inserting papers and authors failed, only the chunks before the failed one were saved. Scrape again to add the rest", e);
 		}
-
-		logger.info("Done inserting papers and authors!");
 	}
 
 	/**
@@ -199,37 +284,4 @@ public class ParsedDataInserter {
 		return entries;
 	}
 
-
-	/**
-	 * This method runs through the DB and performs an author search for every
-	 * person in the DB. It then extends every entry with the new data
-	 *
-	 * @author Philipp Emmer
-	 * @param n The first n authors will be enhanced with Semantic Scholar data
-	 */
-	private void completeAuthorsByS2(int n) {
-		PersonJPAAccess personfiler = new PersonJPAAccess();
-		List<Person> authors = personfiler.get();
-		EntityManager entityManager = PersistenceManager.getEntityManager();
-
-
-		//Go through every author in the db
-		long failedAuthors = 0;
-		long totalAuthors = 0;
-		for ( Person currPerson : authors ) {
-			if( totalAuthors++ == n ) { break; }
-
-			//1. Update information about the author
-			entityManager.getTransaction().begin();
-			try { S2APIFunctions.completeAuthorInformationByAuthorSearch(currPerson, false); }
-			catch (IOException e) {
-				failedAuthors++;
-				e.printStackTrace();
-			}
-			entityManager.getTransaction().commit();
-		}
-		logger.info("Failed: {}\nDone",failedAuthors);
-
-	}
-
 }
\ No newline at end of file
@@ -0,0 +1,262 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+/**
+ * A persistent cache for HTTP responses which is used by {@link JsoupHelper} and the Semantic Scholar requests.
+ * Every response is stored in two files named after the SHA-256 hash of its URL: the gzipped body and a properties file holding the URL,
+ * the ETag and Last-Modified headers, the charset and the time it was fetched. Responses younger than the time to live are used without
+ * asking the server, older ones are revalidated with a conditional request.
+ * In offline mode, every cached response is used regardless of its age and nothing is requested at all
+ */
+public class ResponseCache {
+	private static Logger logger = LogManager.getLogger(ResponseCache.class);
+	private final Path directory;
+	private final Duration timeToLive;
+	private final boolean offline;
+
+	/**
+	 * @param directory The directory to store the responses in, will be created if it does not exist
+	 * @param timeToLive How long a response can be used before it needs to be revalidated
+	 * @param offline true if only cached responses should be used and no request should be sent
+	 * @throws IOException If the directory could not be created
+	 */
+	public ResponseCache(Path directory, Duration timeToLive, boolean offline) throws IOException {
+		this.directory = directory;
+		this.timeToLive = timeToLive;
+		this.offline = offline;
+		Files.createDirectories(directory);
+	}
+
+	/**
+	 * @return true if only cached responses should be used and no request should be sent
+	 */
+	public boolean isOffline() {
+		return offline;
+	}
+
+	/**
+	 * Gets the cached response of the given URL
+	 * @param url The URL to get the response of
+	 * @return The cached response, null if there is none or it could not be read
+	 */
+	public Entry get(String url) {
+		Path metaFile = getFile(url, ".properties");
+
+		if(!Files.exists(metaFile))
+			return null;
+
+		Properties meta = new Properties();
+
+		try(InputStream in = Files.newInputStream(metaFile)) {
+			meta.load(in);
+		}
+		catch(IOException e) {
+			logger.warn("Could not read cached response of \"{}\"", url, e);
+			return null;
+		}
+
+		if(!url.equals(meta.getProperty("url"))) //hash collision, very unlikely
+			return null;
+
+		return new Entry(url, meta.getProperty("etag"), meta.getProperty("lastModified"), meta.getProperty("charset"), Long.parseLong(meta.getProperty("fetchedAt", "0")));
+	}
+
+	/**
+	 * Stores a response in the cache, replacing any previous response of the same URL
+	 * @param url The URL the response was received from
+	 * @param etag The ETag header of the response, may be null
+	 * @param lastModified The Last-Modified header of the response, may be null
+	 * @param charset The charset of the body, may be null
+	 * @param body The raw body of the response
+	 */
+	public void put(String url, String etag, String lastModified, String charset, byte[] body) {
+		try {
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+			try(OutputStream out = new GZIPOutputStream(compressed)) {
+				out.write(body);
+			}
+
+			writeAtomically(getFile(url, ".gz"), compressed.toByteArray());
+			writeMeta(new Entry(url, etag, lastModified, charset, System.currentTimeMillis()));
+		}
+		catch(IOException e) {
+			logger.warn("Could not cache response of \"{}\"", url, e);
+		}
+	}
+
+	/**
+	 * Marks a cached response as fresh again after the server confirmed that it did not change
+	 * @param entry The cached response
+	 */
+	public void refresh(Entry entry) {
+		try {
+			writeMeta(new Entry(entry.url, entry.etag, entry.lastModified, entry.charset, System.currentTimeMillis()));
+		}
+		catch(IOException e) {
+			logger.warn("Could not refresh cached response of \"{}\"", entry.url, e);
+		}
+	}
+
+	/**
+	 * Writes the properties file of the given entry
+	 * @param entry The entry to write
+	 * @throws IOException If the file could not be written
+	 */
+	private void writeMeta(Entry entry) throws IOException {
+		Properties meta = new Properties();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		meta.setProperty("url", entry.url);
+		meta.setProperty("fetchedAt", Long.toString(entry.fetchedAt));
+
+		if(entry.etag != null)
+			meta.setProperty("etag", entry.etag);
+
+		if(entry.lastModified != null)
+			meta.setProperty("lastModified", entry.lastModified);
+
+		if(entry.charset != null)
+			meta.setProperty("charset", entry.charset);
+
+		meta.store(out, null);
+		writeAtomically(getFile(entry.url, ".properties"), out.toByteArray());
+	}
+
+	/**
+	 * Writes to a temporary file first and moves it in place afterwards, so concurrent readers never see half a file
+	 * @param file The file to write
+	 * @param data The data to write
+	 * @throws IOException If the file could not be written
+	 */
+	private void writeAtomically(Path file, byte[] data) throws IOException {
+		Path tmp = Files.createTempFile(directory, "response", ".tmp");
+
+		Files.write(tmp, data);
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * @param url The URL of the response
+	 * @param extension The extension of the file, including the dot
+	 * @return The path of the file of the given URL's response
+	 */
+	private Path getFile(String url, String extension) {
+		return directory.resolve(hash(url) + extension);
+	}
+
+	/**
+	 * @param url The URL to hash
+	 * @return The hex encoded SHA-256 hash of the URL
+	 */
+	private static String hash(String url) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder();
+
+			for(byte b : digest) {
+				hex.append(String.format("%02x", b));
+			}
+
+			return hex.toString();
+		}
+		catch(NoSuchAlgorithmException e) { //every java implementation has to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * A cached response
+	 */
+	public class Entry {
+		private final String url;
+		private final String etag;
+		private final String lastModified;
+		private final String charset;
+		private final long fetchedAt;
+
+		/**
+		 * @param url The URL the response was received from
+		 * @param etag The ETag header of the response, may be null
+		 * @param lastModified The Last-Modified header of the response, may be null
+		 * @param charset The charset of the body, may be null
+		 * @param fetchedAt The time the response was received or last revalidated, in milliseconds since the epoch
+		 */
+		private Entry(String url, String etag, String lastModified, String charset, long fetchedAt) {
+			this.url = url;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.charset = charset;
+			this.fetchedAt = fetchedAt;
+		}
+
+		/**
+		 * @return The ETag header of the response, null if there was none
+		 */
+		public String getETag() {
+			return etag;
+		}
+
+		/**
+		 * @return The Last-Modified header of the response, null if there was none
+		 */
+		public String getLastModified() {
+			return lastModified;
+		}
+
+		/**
+		 * @return true if the response can be used without revalidating it, which is always the case in offline mode
+		 */
+		public boolean isFresh() {
+			return offline || System.currentTimeMillis() - fetchedAt < timeToLive.toMillis();
+		}
+
+		/**
+		 * Parses the cached body
+		 * @return The {@link org.jsoup.nodes.Document Document} of the cached response
+		 * @throws IOException If the body could not be read
+		 */
+		public Document toDocument() throws IOException {
+			return Jsoup.parse(new ByteArrayInputStream(getBody()), charset, url); //a charset of null makes jsoup detect it
+		}
+
+		/**
+		 * Reads the cached body
+		 * @return The raw, uncompressed body of the cached response
+		 * @throws IOException If the body could not be read
+		 */
+		public byte[] getBody() throws IOException {
+			try(InputStream in = new GZIPInputStream(new ByteArrayInputStream(Files.readAllBytes(getFile(url, ".gz"))))) {
+				ByteArrayOutputStream body = new ByteArrayOutputStream();
+				byte[] chunk = new byte[8192];
+				int read;
+
+				while((read = in.read(chunk)) != -1) {
+					body.write(chunk, 0, read);
+				}
+
+				return body.toByteArray();
+			}
+		}
+	}
+}
@@ -1,31 +1,91 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
 
+import java.time.Duration;
 import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
 
 import javax.persistence.Query;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.HandlerMapping;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Metrics;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestFunction;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestHierarchyNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.EntityChangeNotifier;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PersistenceManager;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.exception.SyntaxException;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.exception.VerificationFailedException;
 
 @RestController
 public class APIController {
+	private static final QueryPlanCache PLAN_CACHE = new QueryPlanCache(256); //shared by all requests, dashboards usually repeat a handful of request shapes
+	private static final ResultCache RESULT_CACHE = new ResultCache(1000, Duration.ofMinutes(10));
+
+	static {
+		EntityChangeNotifier.addListener(modelClass -> RESULT_CACHE.invalidate(modelClass.getSimpleName().toLowerCase()));
+		registerCacheMetrics("plan", PLAN_CACHE, QueryPlanCache::getHits, QueryPlanCache::getMisses);
+		registerCacheMetrics("result", RESULT_CACHE, ResultCache::getHits, ResultCache::getMisses);
+	}
+
+	/**
+	 * Publish the hits and misses of a cache to the global micrometer registry, which Spring Boot exposes under
+	 * /actuator/metrics/athena.api.cache.requests?tag=cache:plan&amp;tag=result:hit
+	 * @param cache The name of the cache
+	 * @param state The cache
+	 * @param hits Gets the amount of hits from the cache
+	 * @param misses Gets the amount of misses from the cache
+	 */
+	private static <T> void registerCacheMetrics(String cache, T state, ToDoubleFunction<T> hits, ToDoubleFunction<T> misses) {
+		FunctionCounter.builder("athena.api.cache.requests", state, hits).tags("cache", cache, "result", "hit").register(Metrics.globalRegistry);
+		FunctionCounter.builder("athena.api.cache.requests", state, misses).tags("cache", cache, "result", "miss").register(Metrics.globalRegistry);
+	}
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * @param objectMapper The object mapper Spring uses for the API results, used to write streamed results the same way
+	 */
+	public APIController(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
 	/**
 	 * This method catches all requests made to the API that are not specified in a different request mapping.
 	 * If there are no questionmarks (?), request will contain the complete path (including all subpaths).
 	 * This method then calls various worker classes to validate and verify the request string and make sure that it's correct.
+	 * Verification and query building are only done once per request shape, see {@link QueryPlanCache}.
+	 * Results of requests that don't change any data are cached until one of the entities they were read from changes, see {@link ResultCache}.
 	 * If that is the case, the request will be sent to the database and the result will be returned to the user.
+	 * Associations of the result (e.g. a conference's events) are only part of the result if they are listed in the "fetch" parameter,
+	 * e.g. /conference?fetch=events.papers,workshops. Paged requests can only fetch single associations, e.g. /person$limit=100?fetch=institution
+	 * Options at the end of the request page the result or only return some of its fields, e.g. /paper$limit=100&fields=title+releaseDate.
+	 * If a page is full, the cursor to request the next page with (/paper$limit=100&cursor=...) is returned in the X-Next-Cursor header
+	 * Large results can be streamed with the "stream" parameter, either as a JSON array (stream=json) or one result per line (stream=ndjson),
+	 * see {@link StreamingResult}. Streamed results are not cached and, like pages, can only fetch single associations
+	 * Enhance requests (/enhance/paper...) return a job right away, see {@link #getEnhanceJob(String)}, or 503 if too many entities are already waiting to be enhanced
 	 * If an error occurs, it will be returned to the user as well.
 	 * @param request A HttpServletRequest usually received through REST
+	 * @param response The response to the request, used to add the cursor of the next page
 	 * @return The result list of the query, or an error message.
 	 */
 	@RequestMapping("/**")
-	public Object apiConnector(HttpServletRequest request) { //the argument contains everything that was not matched to any other argument
+	public Object apiConnector(HttpServletRequest request, HttpServletResponse response) { //the argument contains everything that was not matched to any other argument
 		RequestNode tree = null;
 
 		try {
@@ -34,15 +94,61 @@ public class APIController {
 			RequestScanner scanner = new RequestScanner(apiRequest);
 			Deque<RequestToken> tokens = scanner.scan();
 			RequestParser parser = new RequestParser(tokens);
-			RequestVerifier verifier = new RequestVerifier();
 			//prepare query and query builder
 			QueryBuilder queryBuilder = new QueryBuilder();
+			QueryPlanCache.QueryPlan plan;
 			Query query;
+			String cacheKey = null;
+			long cacheVersion = RESULT_CACHE.getVersion(); //taken before reading, so changes during the request prevent caching its result
+			Set<String> entities = new HashSet<>();
+			String stream = request.getParameter("stream");
+			Object result;
 
 			tree = parser.parse(); //parse the request
-			verifier.verify(tree); //if no exception is thrown, the verification was successful
-			query = queryBuilder.build(tree);
-			return tree.getFunction().getFunction().apply(query, verifier.getResultEntity()); //call the request function
+
+			if(tree.getFunction() != RequestFunction.ENHANCE && stream == null) { //enhancing changes the data, always run it
+				cacheKey = ResultCache.getKey(tree, request.getParameter("fetch"));
+				result = RESULT_CACHE.get(cacheKey);
+
+				if(result != null) {
+					setNextCursor(response, tree, result, queryBuilder);
+					return result;
+				}
+			}
+
+			plan = PLAN_CACHE.get(tree);
+
+			if(plan == null) { //unknown shape, verify and build the query string
+				RequestVerifier verifier = new RequestVerifier();
+
+				verifier.verify(tree); //if no exception is thrown, the verification was successful
+				plan = new QueryPlanCache.QueryPlan(queryBuilder.buildJPQL(tree), verifier.getResultEntity());
+				PLAN_CACHE.put(tree, plan);
+			}
+
+			query = queryBuilder.createQuery(plan.getJPQL(), tree); //only binds the values of this request
+
+			if(tree.getFunction() != RequestFunction.COUNT && tree.getFields().isEmpty()) //a count or selected fields do not return entities
+				entities.addAll(queryBuilder.applyFetchGraph(query, plan.getResultEntity(), request.getParameter("fetch"), tree.isPaged() || stream != null));
+
+			if(stream != null)
+				return streamResult(response, tree, query, stream);
+
+			result = tree.getFunction().getFunction().apply(query, plan.getResultEntity()); //call the request function
+
+			if(result instanceof List && queryBuilder.fetchesCollection(plan.getResultEntity(), request.getParameter("fetch"))) //fetch joins repeat the result once per element
+				result = QueryBuilder.distinct((List<?>)result);
+
+			if(cacheKey != null) {
+				for(RequestHierarchyNode hierarchyNode : tree.getHierarchy()) {
+					entities.add(hierarchyNode.getEntity().getEntityName().getString().toLowerCase());
+				}
+
+				RESULT_CACHE.put(cacheKey, result, entities, cacheVersion);
+			}
+
+			setNextCursor(response, tree, result, queryBuilder);
+			return result;
 		}
 		catch(SyntaxException | VerificationFailedException e) {
 			String errorMessage = "<h4>" + e.getMessage() + "</h4>"
@@ -62,4 +168,56 @@ public class APIController {
 			return errorMessage + "</div></div>";
 		}
 	}
+
+	/**
+	 * Gets the progress of enhancing the results of an /enhance request, e.g. /jobs/7d1f6f2c-...
+	 * @param id The ID of the job as returned by the /enhance request
+	 * @return The job with its progress and the entities that could not be enhanced
+	 * @throws ResponseStatusException If there is no job with the given ID (anymore)
+	 */
+	@RequestMapping("/jobs/{id}")
+	public EnhanceJob getEnhanceJob(@PathVariable("id") String id) {
+		EnhanceJob job = EnhanceJobs.get(id);
+
+		if(job == null)
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown job " + id);
+
+		return job;
+	}
+
+	/**
+	 * Prepares the response for streaming the result of the query
+	 * @param response The response to set the content type of
+	 * @param tree The parsed request
+	 * @param query The query to stream the result of
+	 * @param format The format to stream the result in, "json" or "ndjson"
+	 * @return The body of the response, which Spring writes on a separate thread
+	 * @throws VerificationFailedException If the request cannot be streamed or the format is unknown
+	 */
+	private StreamingResult streamResult(HttpServletResponse response, RequestNode tree, Query query, String format) throws VerificationFailedException {
+		if(tree.getFunction() != RequestFunction.NONE)
+			throw new VerificationFailedException("Only requests without a function can be streamed!");
+
+		if(!format.equals("json") && !format.equals("ndjson"))
+			throw new VerificationFailedException("Unknown stream format " + format + ", use json or ndjson!");
+
+		response.setContentType(format.equals("ndjson") ? "application/x-ndjson" : MediaType.APPLICATION_JSON_UTF8_VALUE);
+		return new StreamingResult(query, PersistenceManager.takeEntityManager(), objectMapper, format.equals("ndjson")); //the query was created with this thread's EntityManager
+	}
+
+	/**
+	 * Adds the cursor of the next page to the response, if the request is limited and the page is full
+	 * @param response The response to add the cursor to
+	 * @param tree The parsed request
+	 * @param result The result of the request
+	 * @param queryBuilder The query builder to build the cursor with
+	 * @throws VerificationFailedException If the result entity does not exist
+	 */
+	private void setNextCursor(HttpServletResponse response, RequestNode tree, Object result, QueryBuilder queryBuilder) throws VerificationFailedException {
+		if(tree.getLimit() != null && result instanceof List && ((List<?>)result).size() == tree.getLimit().getNumber()) { //a page that's not full is the last one
+			String resultEntity = tree.getHierarchy().get(tree.getHierarchy().size() - 1).getEntity().getEntityName().getString();
+
+			response.setHeader("X-Next-Cursor", queryBuilder.getNextCursor((List<?>)result, resultEntity));
+		}
+	}
 }
@@ -0,0 +1,126 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The progress of enhancing the results of an /enhance request with Semantic Scholar data, see {@link EnhanceJobs}.
+ * This is what the request and the status endpoint /jobs/{id} return
+ */
+public class EnhanceJob {
+	private final String id = UUID.randomUUID().toString();
+	private final String entity;
+	private final int total;
+	private final AtomicInteger succeeded = new AtomicInteger();
+	private final AtomicInteger failed = new AtomicInteger();
+	private final AtomicInteger remainingBatches;
+	private final ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+	private final LocalDateTime started = LocalDateTime.now();
+	private volatile LocalDateTime finished;
+
+	/**
+	 * @param entity The name of the entity that is enhanced, "paper" or "person"
+	 * @param total The amount of entities to enhance
+	 * @param batches The amount of batches the entities are enhanced in
+	 */
+	EnhanceJob(String entity, int total, int batches) {
+		this.entity = entity;
+		this.total = total;
+		this.remainingBatches = new AtomicInteger(batches);
+
+		if(batches == 0) //nothing to do
+			finished = started;
+	}
+
+	/**
+	 * Counts an entity that was enhanced successfully
+	 */
+	void succeeded() {
+		succeeded.incrementAndGet();
+	}
+
+	/**
+	 * Counts an entity that could not be enhanced
+	 * @param entityID The ID of the entity
+	 * @param reason Why it could not be enhanced
+	 */
+	void failed(Object entityID, String reason) {
+		failed.incrementAndGet();
+		failures.add(entityID + ": " + reason);
+	}
+
+	/**
+	 * Marks a batch as done, the job is finished after the last one
+	 */
+	void batchDone() {
+		if(remainingBatches.decrementAndGet() == 0)
+			finished = LocalDateTime.now();
+	}
+
+	/**
+	 * @return The ID to request the status of this job with
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * @return The name of the entity that is enhanced
+	 */
+	public String getEntity() {
+		return entity;
+	}
+
+	/**
+	 * @return "running" while entities are being enhanced, "done" afterwards
+	 */
+	public String getStatus() {
+		return finished == null ? "running" : "done";
+	}
+
+	/**
+	 * @return The amount of entities to enhance
+	 */
+	public int getTotal() {
+		return total;
+	}
+
+	/**
+	 * @return The amount of entities that were enhanced and saved
+	 */
+	public int getSucceeded() {
+		return succeeded.get();
+	}
+
+	/**
+	 * @return The amount of entities that could not be enhanced or saved
+	 */
+	public int getFailed() {
+		return failed.get();
+	}
+
+	/**
+	 * @return The ID of every entity that could not be enhanced or saved, together with the reason
+	 */
+	public List<String> getFailures() {
+		return new ArrayList<>(failures);
+	}
+
+	/**
+	 * @return When the job was submitted
+	 */
+	public LocalDateTime getStarted() {
+		return started;
+	}
+
+	/**
+	 * @return When the last entity was handled, null while the job is running
+	 */
+	public LocalDateTime getFinished() {
+		return finished;
+	}
+}
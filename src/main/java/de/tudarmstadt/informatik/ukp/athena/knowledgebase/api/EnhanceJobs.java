@@ -0,0 +1,205 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.BatchEnhancer;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi.S2APIFunctions;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Model;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Paper;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
+
+/**
+ * Enhances papers and persons with Semantic Scholar data in the background, so /enhance requests return right away instead of
+ * blocking their request thread for every Semantic Scholar request. The entities of a job are split into batches, which are
+ * enhanced in parallel by a fixed amount of worker threads. Every entity is saved on its own right after it was enhanced, see {@link BatchEnhancer}.
+ * An entity is only enhanced once per job, even if a request returns it several times.
+ * Only a limited amount of batches can wait for a worker, a job that does not fit anymore is rejected, see {@link #configure(int, int, int)}
+ */
+public class EnhanceJobs {
+	private static Logger logger = LogManager.getLogger(EnhanceJobs.class);
+	/**
+	 * How many requests to Semantic Scholar are run at the same time by default
+	 */
+	public static final int DEFAULT_PARALLELISM = 4;
+	/**
+	 * How many entities a worker enhances in a row by default
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 10;
+	/**
+	 * How many batches can wait for a worker by default
+	 */
+	public static final int DEFAULT_QUEUE_SIZE = 1000;
+	/**
+	 * How many finished jobs are remembered for the status endpoint, the oldest ones are forgotten first. Running jobs are always remembered
+	 */
+	static final int MAX_JOBS = 100;
+	private static ThreadPoolExecutor workers = createWorkers(DEFAULT_PARALLELISM, DEFAULT_QUEUE_SIZE);
+	private static int batchSize = DEFAULT_BATCH_SIZE;
+	private static final Map<String,EnhanceJob> jobs = new LinkedHashMap<>(); //guarded by the class
+
+	private EnhanceJobs() {}
+
+	/**
+	 * Changes how jobs are run. Jobs that were already submitted are finished with the previous settings
+	 * @param parallelism How many requests to Semantic Scholar are run at the same time
+	 * @param batchSize How many entities a worker enhances in a row
+	 * @param queueSize How many batches can wait for a worker, further jobs are rejected until enough batches are done
+	 */
+	public static synchronized void configure(int parallelism, int batchSize, int queueSize) {
+		if(parallelism < 1 || batchSize < 1 || queueSize < 1)
+			throw new IllegalArgumentException("parallelism, batchSize and queueSize need to be positive");
+
+		workers.shutdown(); //the old workers stop once their queue is empty
+		workers = createWorkers(parallelism, queueSize);
+		EnhanceJobs.batchSize = batchSize;
+	}
+
+	/**
+	 * @param parallelism The amount of worker threads
+	 * @param queueSize How many batches can wait for a worker
+	 * @return The worker pool
+	 */
+	private static ThreadPoolExecutor createWorkers(int parallelism, int queueSize) {
+		return new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+			Thread worker = new Thread(runnable, "enhance-worker");
+
+			worker.setDaemon(true); //don't keep the application alive for unfinished jobs
+			return worker;
+		});
+	}
+
+	/**
+	 * Starts enhancing the given entities in the background
+	 * @param entity The name of the entity to enhance, "paper" or "person"
+	 * @param results The entities to enhance, only their IDs are used as they are loaded again by the worker threads
+	 * @return The job, which can be looked up with {@link #get(String)} to see its progress
+	 * @throws ResponseStatusException 503 if not all batches of the job fit into the queue, nothing is enhanced then
+	 */
+	public static synchronized EnhanceJob submit(String entity, List<?> results) {
+		Class<? extends Model> type = entity.equals("paper") ? Paper.class : Person.class;
+		List<Object> ids = getIDs(results);
+		int batches = (ids.size() + batchSize - 1) / batchSize;
+
+		//only the workers take from the queue while this is synchronized, so the batches are sure to fit afterwards
+		if(batches > workers.getQueue().remainingCapacity()) {
+			logger.warn("Rejected enhancing {} {} entities, {} batches are already waiting", ids.size(), entity, workers.getQueue().size());
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many entities are being enhanced, try again later or enhance fewer at once");
+		}
+
+		EnhanceJob job = new EnhanceJob(entity, ids.size(), batches);
+
+		evictFinished(jobs, MAX_JOBS);
+		jobs.put(job.getId(), job);
+
+		for(int i = 0; i < ids.size(); i += batchSize) {
+			List<Object> batch = ids.subList(i, Math.min(i + batchSize, ids.size()));
+
+			workers.execute(() -> enhanceBatch(job, type, batch));
+		}
+
+		logger.info("Submitted job {} to enhance {} {} entities", job.getId(), ids.size(), entity);
+		return job;
+	}
+
+	/**
+	 * Collects the IDs of the entities to enhance. Entities that appear more than once are only enhanced once,
+	 * otherwise two workers could enhance the same entity at the same time and both create its new papers and persons
+	 * @param results The entities, non-null
+	 * @return The distinct IDs, in the order of the entities
+	 */
+	static List<Object> getIDs(List<?> results) {
+		Set<Object> ids = new LinkedHashSet<>();
+
+		for(Object result : results) {
+			ids.add(((Model)result).getID());
+		}
+
+		return new ArrayList<>(ids);
+	}
+
+	/**
+	 * @param id The ID of the job
+	 * @return The job with the given ID, null if there is none (anymore)
+	 */
+	public static synchronized EnhanceJob get(String id) {
+		return jobs.get(id);
+	}
+
+	/**
+	 * Forgets the oldest finished jobs until at most the given amount of finished jobs is left
+	 * @param jobs The jobs in the order they were submitted
+	 * @param maxFinished How many finished jobs to keep
+	 */
+	static void evictFinished(Map<String,EnhanceJob> jobs, int maxFinished) {
+		int finished = 0;
+
+		for(EnhanceJob job : jobs.values()) {
+			if(job.getFinished() != null)
+				finished++;
+		}
+
+		for(Iterator<EnhanceJob> iterator = jobs.values().iterator(); iterator.hasNext() && finished > maxFinished;) {
+			if(iterator.next().getFinished() != null) {
+				iterator.remove();
+				finished--;
+			}
+		}
+	}
+
+	/**
+	 * Enhances a batch of entities and saves them, see {@link BatchEnhancer#enhance(Class, List, BatchEnhancer.Enhancement, BatchEnhancer.Progress)}
+	 * @param job The job the batch belongs to
+	 * @param type The model class of the entities
+	 * @param batch The IDs of the entities to enhance
+	 */
+	private static void enhanceBatch(EnhanceJob job, Class<? extends Model> type, List<Object> batch) {
+		try {
+			BatchEnhancer.enhance(type, batch, EnhanceJobs::enhance, new BatchEnhancer.Progress() {
+				@Override
+				public void succeeded(Object id) {
+					job.succeeded();
+				}
+
+				@Override
+				public void failed(Object id, String reason) {
+					job.failed(id, reason);
+				}
+			});
+		}
+		finally {
+			job.batchDone();
+		}
+	}
+
+	/**
+	 * Enhances a single entity in-place
+	 * @param model The paper or person to enhance
+	 * @return false if Semantic Scholar does not know the entity
+	 * @throws IOException If the connection to Semantic Scholar fails
+	 * @throws JSONException If Semantic Scholar responds with invalid JSON
+	 */
+	private static boolean enhance(Model model) throws IOException, JSONException {
+		if(model instanceof Paper) {
+			S2APIFunctions.completePaperInformationByGeneralSearch((Paper)model, true);
+			return true;
+		}
+
+		return S2APIFunctions.completeAuthorInformationByAuthorSearch((Person)model, true);
+	}
+}
@@ -0,0 +1,24 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+
+/**
+ * Makes the JSON serialization of API results aware of lazy associations.
+ * Associations that were not loaded by the query (see the "fetch" parameter of {@link APIController}) are written as null
+ * instead of being loaded one by one while serializing
+ */
+@Configuration
+public class LazyLoadingConfiguration {
+	/**
+	 * Spring Boot registers every jackson module bean with the object mapper used for the API results
+	 * @return The module which handles hibernate's lazy collections and proxies
+	 */
+	@Bean
+	public Module hibernateModule() {
+		return new Hibernate5Module();
+	}
+}
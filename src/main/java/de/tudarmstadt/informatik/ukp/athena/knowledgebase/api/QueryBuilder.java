@@ -3,14 +3,28 @@ package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import javax.persistence.EntityGraph;
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
+import javax.persistence.Subgraph;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
 
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.AttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.AttributeOperator;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.ListAttributeNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.NumberAttributeNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.NumberNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestEntityNode;
@@ -18,27 +32,59 @@ import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestFunctio
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestHierarchyNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.StringAttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.StringNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PersistenceManager;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.EventCategory;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Model;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.exception.VerificationFailedException;
 
-//code in here is not tested because javax.persistence.Query does not provide a way to see if the built query looks like intended
+//most code in here is not tested because javax.persistence.Query does not provide a way to see if the built query looks like intended
 public class QueryBuilder {
+	/**
+	 * The maximum amount of results per page
+	 */
+	public static final int MAX_LIMIT = 1000;
 	private EntityManager entityManager = PersistenceManager.getEntityManager();
 
 	/**
 	 * Sanitizes user input and builds the JPQL query
 	 * @param tree The request tree to build the request from, non-null
 	 * @return The generated query
+	 * @throws VerificationFailedException If the result entity does not exist or the paging options are invalid
+	 */
+	public Query build(RequestNode tree) throws VerificationFailedException {
+		return createQuery(buildJPQL(tree), tree);
+	}
+
+	/**
+	 * Builds the JPQL string of the request. User input is not part of it, only JPQL variables which are set in {@link #createQuery(String, RequestNode)}.
+	 * Thus the string is the same for all requests with the same entities, attribute names and kinds of values and can be reused for them.
+	 * Paged requests are ordered by the ID of the result entity, so pages don't overlap and a cursor can continue after the last ID of a page.
+	 * If fields are selected, each result is a map of the field names (and the ID) to their values instead of the whole entity
+	 * @param tree The request tree to build the request from, non-null
+	 * @return The JPQL string
+	 * @throws VerificationFailedException If the result entity does not exist
 	 */ //size of 40 lines is exceeded in favor of readability (=> normalEntityName, entityName, entityVar etc. could be removed to meet the requirement)
-	public Query build(RequestNode tree) {
+	public String buildJPQL(RequestNode tree) throws VerificationFailedException {
 		List<String> queryList = new ArrayList<>();
-		Map<String,Object> jpqlVars = new HashMap<>(); //replace key with value later, this is user input
 		String previousEntityVar = null; //used for hierarchical relationship
+		String qlString = "";
+		String idName = tree.isPaged() || !tree.getFields().isEmpty() ? getIdName(tree.getHierarchy().get(tree.getHierarchy().size() - 1).getEntity().getEntityName().getString()) : null;
 
 		queryList.add("SELECT");
 
 		if(tree.getFunction() == RequestFunction.COUNT)
 			queryList.add("count(:entityVar)");
+		else if(!tree.getFields().isEmpty()) { //only return the selected fields, the ID is always included so the next page can be requested
+			String projection = "new map(:entityVar." + idName + " as " + idName;
+
+			for(StringNode field : tree.getFields()) {
+				if(!field.getString().equals(idName))
+					projection += ", :entityVar." + field.getString() + " as " + field.getString();
+			}
+
+			queryList.add(projection + ")");
+		}
 		else
 			queryList.add(":entityVar"); //when initially building the query, it's not known which entity is placed last in the request
 
@@ -48,9 +94,7 @@ public class QueryBuilder {
 		for(RequestHierarchyNode hierarchyNode : tree.getHierarchy()) {
 			String normalEntityName = hierarchyNode.getEntity().getEntityName().getString();
 			String entityName = capitalizeFirstLetter(normalEntityName);
-			String entityVar = normalEntityName.equals("eventpart") ? "ep" : normalEntityName.substring(0, 2);
-
-			jpqlVars.put(":entityVar", "" + entityVar); //the last one will be in the output
+			String entityVar = getEntityVar(normalEntityName);
 
 			//if it's the first entity, there shouldn't be a join
 			if(previousEntityVar == null)
@@ -61,89 +105,393 @@ public class QueryBuilder {
 			previousEntityVar = entityVar;
 		}
 
-		if(tree.getHierarchy().get(0).getEntity().getAttributes().size() > 0) //this is only the case if the request is not something like /paper to get all the papers
+		if(tree.getHierarchy().get(0).getEntity().getAttributes().size() > 0 || tree.getCursor() != null) //this is only the case if the request is not something like /paper to get all the papers
 			queryList.add("WHERE");
 
-		//now set the attributes
+		//now add the attributes
 		for(RequestHierarchyNode hierarchyNode : tree.getHierarchy()) {
 			RequestEntityNode entityNode = hierarchyNode.getEntity();
-			String entityVar = entityNode.getEntityName().getString().equals("eventpart") ? "ep" : entityNode.getEntityName().getString().substring(0, 2);
+			String entityVar = getEntityVar(entityNode.getEntityName().getString());
+
+			List<AttributeNode> attributes = entityNode.getAttributes();
 
 			//loop through the attributes (if any)
-			for(AttributeNode attr : entityNode.getAttributes()) {
-				String attrName = attr.getName().getString();
-				String jpqlVar = entityVar + "_" + attrName; //used later to replace with actual user input after it was automatically sanitized
+			for(int i = 0; i < attributes.size(); i++) {
+				AttributeNode attr = attributes.get(i);
 
-				queryList.add(entityVar + "." + attrName + "=:" + jpqlVar);
-				setAttributeCorrectly(attr, jpqlVars, jpqlVar);
+				queryList.add(getCondition(entityVar + "." + attr.getName().getString(), attr, getJpqlVar(entityVar, attr, i))); //the variable is replaced with the actual user input later
 				queryList.add("and");
 			}
 		}
 
+		if(tree.getCursor() != null) { //continue after the last result of the previous page
+			queryList.add(":entityVar." + idName + ">:cursor");
+			queryList.add("and");
+		}
+
 		if(queryList.get(queryList.size() - 1).equals("and")) //remove the last and if there is one
 			queryList.remove(queryList.size() - 1);
 
-		return createQuery(queryList, jpqlVars);
+		if(tree.isPaged()) //without a fixed order, pages could overlap
+			queryList.add("ORDER BY :entityVar." + idName);
+
+		for(String s : queryList) { //build the complete query string
+			qlString += s + " ";
+		}
+
+		//set the :entityVar variable manually as parameters are not supported in the SELECT part
+		return qlString.replace(":entityVar", previousEntityVar); //the last entity will be in the output
 	}
 
 	/**
-	 * Sets the JPQL variable for the given attribute to the correct value
+	 * Creates a query that is ready to be sent to the database
+	 * @param qlString The JPQL string built by {@link #buildJPQL(RequestNode)} from a request of the same shape, non-null
+	 * @param tree The request tree to take the attribute values and paging options from, non-null
+	 * @return The created query
+	 * @throws VerificationFailedException If the limit is out of bounds or the cursor is invalid
+	 */
+	public Query createQuery(String qlString, RequestNode tree) throws VerificationFailedException {
+		Map<String,Object> jpqlVars = new HashMap<>(); //JPQL variable -> value, this is user input
+		Query query = entityManager.createQuery(qlString); //create the base query, hibernate caches the plan of an already known string
+
+		for(RequestHierarchyNode hierarchyNode : tree.getHierarchy()) {
+			RequestEntityNode entityNode = hierarchyNode.getEntity();
+			String entityVar = getEntityVar(entityNode.getEntityName().getString());
+
+			List<AttributeNode> attributes = entityNode.getAttributes();
+
+			for(int i = 0; i < attributes.size(); i++) {
+				setAttributeCorrectly(attributes.get(i), jpqlVars, getJpqlVar(entityVar, attributes.get(i), i));
+			}
+		}
+
+		if(tree.getCursor() != null)
+			jpqlVars.put("cursor", decodeCursor(tree.getCursor().getString()));
+
+		//sanitize user input
+		for(String key : jpqlVars.keySet()) {
+			query = query.setParameter(key, jpqlVars.get(key));
+		}
+
+		if(tree.getLimit() != null) {
+			int limit = tree.getLimit().getNumber();
+
+			if(limit < 1 || limit > MAX_LIMIT)
+				throw new VerificationFailedException("The limit has to be between 1 and " + MAX_LIMIT + ", but is " + limit + "!");
+
+			query.setMaxResults(limit);
+		}
+
+		if(tree.getOffset() != null)
+			query.setFirstResult(tree.getOffset().getNumber());
+
+		return query;
+	}
+
+	/**
+	 * Builds the cursor that continues after the given page
+	 * @param page The results of a paged request, non-null and non-empty
+	 * @param resultEntity The name of the entity that the request returns, e.g. "paper", non-null
+	 * @return The cursor to request the next page with
+	 * @throws VerificationFailedException If there is no such entity
+	 */
+	public String getNextCursor(List<?> page, String resultEntity) throws VerificationFailedException {
+		Object last = page.get(page.size() - 1);
+		Object id = last instanceof Map ? ((Map<?,?>)last).get(getIdName(resultEntity)) : ((Model)last).getID(); //selected fields or whole entity
+
+		return encodeCursor(((Number)id).longValue());
+	}
+
+	/**
+	 * Encodes an ID as a cursor. Clients should treat cursors as opaque and only pass them on
+	 * @param id The last ID of a page
+	 * @return The cursor
+	 */
+	static String encodeCursor(long id) {
+		return "c" + Long.toString(id, Character.MAX_RADIX); //the letter makes sure the request parser reads it as a string
+	}
+
+	/**
+	 * Decodes a cursor built by {@link #encodeCursor(long)}
+	 * @param cursor The cursor, non-null
+	 * @return The last ID of the previous page
+	 * @throws VerificationFailedException If the cursor is invalid
+	 */
+	static long decodeCursor(String cursor) throws VerificationFailedException {
+		try {
+			if(cursor.startsWith("c"))
+				return Long.parseLong(cursor.substring(1), Character.MAX_RADIX);
+		}
+		catch(NumberFormatException e) {} //handled below
+
+		throw new VerificationFailedException("Invalid cursor " + cursor + "!");
+	}
+
+	/**
+	 * @param entityName The lowercase name of the entity
+	 * @return The name of the ID attribute of the entity
+	 * @throws VerificationFailedException If there is no such entity
+	 */
+	private String getIdName(String entityName) throws VerificationFailedException {
+		for(SingularAttribute<?,?> attribute : getEntityType(entityName).getSingularAttributes()) {
+			if(attribute.isId())
+				return attribute.getName();
+		}
+
+		throw new VerificationFailedException("Entity " + entityName + " has no ID");
+	}
+
+	/**
+	 * Builds the condition for an attribute. All of them can use an index on the attribute's column: ranges and lists are
+	 * BETWEEN and IN instead of several ORs and patterns only become a LIKE, which uses the index as long as it does not start with a wildcard
+	 * @param attribute The attribute including the entity variable, e.g. "pa.title", non-null
+	 * @param attr The attribute node to take the operator from, non-null
+	 * @param jpqlVar The JPQL variable name to use, see {@link #getJpqlVar(String, AttributeNode, int)}, non-null
+	 * @return The condition
+	 */
+	private String getCondition(String attribute, AttributeNode attr, String jpqlVar) {
+		switch(attr.getOperator()) {
+			case BETWEEN: return attribute + " BETWEEN :" + jpqlVar + "_from AND :" + jpqlVar + "_to";
+			case IN: return attribute + " IN (:" + jpqlVar + ")";
+			case LIKE: return attribute + " LIKE :" + jpqlVar + " ESCAPE '" + AttributeOperator.LIKE_ESCAPE + "'";
+			default: return attribute + attr.getOperator().getSymbol() + ":" + jpqlVar;
+		}
+	}
+
+	/**
+	 * Builds the name of the JPQL variable of an attribute. The position is part of it, so an attribute can appear more than once (e.g. "releaseDate>=2018+1+1&releaseDate<2019+1+1")
+	 * @param entityVar The JPQL variable used for the entity, non-null
 	 * @param attr The attribute, non-null
-	 * @param jpqlVars The data structure to store the JPQL variable -> value mapping in, non-null
-	 * @param jpqlVar The JPQL variable name to use, non-null
+	 * @param index The position of the attribute in its entity
+	 * @return The JPQL variable name
 	 */
-	private void setAttributeCorrectly(AttributeNode attr, Map<String,Object> jpqlVars, String jpqlVar) {
-		//nothing extra needs to be done for a string node other than assigning its value to the the jpql var
-		if(attr instanceof StringAttributeNode)
-			jpqlVars.put(jpqlVar, ((StringAttributeNode)attr).getValue().getString());
-		//construct the jpql value for the number node from the numbers
-		else if(attr instanceof NumberAttributeNode) {
-			List<NumberNode> numbers = ((NumberAttributeNode)attr).getNumbers();
+	private String getJpqlVar(String entityVar, AttributeNode attr, int index) {
+		return entityVar + "_" + attr.getName().getString() + index;
+	}
 
-			//yes, vars can be any object
-			switch(numbers.size()) {
-				case 5:
-					jpqlVars.put(jpqlVar, LocalDateTime.of(numbers.get(0).getNumber(), numbers.get(1).getNumber(), numbers.get(2).getNumber(), numbers.get(3).getNumber(), numbers.get(4).getNumber()));
-					break;
-				case 3:
-					jpqlVars.put(jpqlVar, LocalDate.of(numbers.get(0).getNumber(), numbers.get(1).getNumber(), numbers.get(2).getNumber()));
-					break;
-				case 1:
-					//differentiate between long and category
-					if(attr.getName().getString().toLowerCase().contains("category"))
-						jpqlVars.put(jpqlVar, EventCategory.values()[numbers.get(0).getNumber()]);
-					else
-						jpqlVars.put(jpqlVar, new Long(numbers.get(0).getNumber())); //needs to be in a wrapper class or else it doesn't work
-					break;
+	/**
+	 * @param entityName The lowercase name of the entity
+	 * @return The JPQL variable used for the entity
+	 */
+	private String getEntityVar(String entityName) {
+		return entityName.equals("eventpart") ? "ep" : entityName.substring(0, 2);
+	}
+
+	/**
+	 * Makes the query load the given associations of the result entity together with it. Associations are lazy, so everything
+	 * that is not mentioned here is not loaded and not part of the result
+	 * @param query The query to apply the associations to, non-null
+	 * @param resultEntity The name of the entity that the query returns, e.g. "conference", non-null
+	 * @param fetch Comma separated associations to load, nested ones separated by dots, e.g. "events.papers,workshops". null or empty to load none
+	 * @param rowPerResult true if every row of the query has to be exactly one result, e.g. because the query is paged. Collections are joined
+	 * into the rows of their owner, so Hibernate would apply the limit to the joined rows or page the whole result in memory (HHH000104)
+	 * @return The lowercase names of the entities that are loaded additionally, empty if none
+	 * @throws VerificationFailedException If one of the associations does not exist, or is a collection while rowPerResult is true
+	 */
+	public Set<String> applyFetchGraph(Query query, String resultEntity, String fetch, boolean rowPerResult) throws VerificationFailedException {
+		Set<String> fetchedEntities = new HashSet<>();
+
+		if(fetch == null || fetch.trim().isEmpty())
+			return fetchedEntities;
+
+		EntityType<?> type = getEntityType(resultEntity);
+		EntityGraph<?> graph = entityManager.createEntityGraph(type.getJavaType());
+
+		for(String path : fetch.split(",")) {
+			String[] attributes = path.trim().split("\\.");
+
+			try {
+				if(rowPerResult && containsCollection(type, attributes))
+					throw new VerificationFailedException("Cannot fetch the collection \"" + path.trim() + "\" of a paged request, request the associated entities separately");
+
+				if(attributes.length == 1)
+					graph.addAttributeNodes(attributes[0]);
+				else {
+					Subgraph<?> subgraph = graph.addSubgraph(attributes[0]);
+
+					for(int i = 1; i < attributes.length - 1; i++) {
+						subgraph = subgraph.addSubgraph(attributes[i]);
+					}
+
+					subgraph.addAttributeNodes(attributes[attributes.length - 1]);
+				}
+
+				fetchedEntities.addAll(getAssociatedEntities(type, attributes));
+			}
+			catch(IllegalArgumentException | IllegalStateException e) { //attribute does not exist or is not an association
+				throw new VerificationFailedException("Cannot fetch \"" + path.trim() + "\" for " + resultEntity);
 			}
 		}
+
+		query.setHint("javax.persistence.loadgraph", graph);
+		return fetchedEntities;
 	}
 
 	/**
-	 * Creates a query that is ready to be sent to the database
-	 * @param queryList The broken down query string. Will be concatenated with spaces, non-null
-	 * @param jpqlVars The variable -> value mappings for JPQL variables. The values are user input and will be sanitized by this method, non-null
-	 * @return The created query
+	 * Checks if the given associations contain a collection. Hibernate loads the fetched associations with joins, so the result entity is
+	 * repeated once for every element of a fetched collection, see {@link #distinct(List)}
+	 * @param resultEntity The name of the entity that the query returns, e.g. "conference", non-null
+	 * @param fetch The associations as given to {@link #applyFetchGraph(Query, String, String, boolean)}, null or empty for none
+	 * @return true if one of the associations is or passes through a collection
+	 * @throws VerificationFailedException If one of the associations does not exist
 	 */
-	private Query createQuery(List<String> queryList,  Map<String,Object> jpqlVars) {
-		String qlString = "";
+	public boolean fetchesCollection(String resultEntity, String fetch) throws VerificationFailedException {
+		if(fetch == null || fetch.trim().isEmpty())
+			return false;
 
-		for(String s : queryList) { //build the complete query string
-			qlString += s + " ";
+		EntityType<?> type = getEntityType(resultEntity);
+
+		for(String path : fetch.split(",")) {
+			try {
+				if(containsCollection(type, path.trim().split("\\.")))
+					return true;
+			}
+			catch(IllegalArgumentException e) { //attribute does not exist
+				throw new VerificationFailedException("Cannot fetch \"" + path.trim() + "\" for " + resultEntity);
+			}
 		}
 
-		//set the :entityVar variable manually as parameters are not supported in the SELECT part
-		if(jpqlVars.containsKey(":entityVar"))
-			qlString = qlString.replace(":entityVar", (String)jpqlVars.remove(":entityVar")); //remove returns the previously associated value as well
+		return false;
+	}
 
-		Query query = entityManager.createQuery(qlString); //create the base query
+	/**
+	 * Removes the repetitions of the result entities that fetching a collection causes, see {@link #fetchesCollection(String, String)}.
+	 * Hibernate returns the same instance for every row of an entity, so only the first occurrence of each instance is kept
+	 * @param results The results of the query, non-null
+	 * @return The results without repetitions, in the order of their first occurrence
+	 */
+	static List<Object> distinct(List<?> results) {
+		Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<Object> distinct = new ArrayList<>();
 
-		//sanitize user input
-		for(String key : jpqlVars.keySet()) {
-			query = query.setParameter(key, jpqlVars.get(key));
+		for(Object result : results) {
+			if(seen.add(result))
+				distinct.add(result);
 		}
 
-		return query;
+		return distinct;
+	}
+
+	/**
+	 * Checks if a path of associations passes through a collection
+	 * @param type The type to start at, non-null
+	 * @param path The names of the associations to follow, non-null
+	 * @return true if one of the associations is a collection
+	 * @throws IllegalArgumentException If an association does not exist
+	 */
+	private boolean containsCollection(ManagedType<?> type, String[] path) {
+		for(String name : path) {
+			Attribute<?,?> attribute = type.getAttribute(name);
+
+			if(attribute.isCollection())
+				return true;
+
+			if(!(((SingularAttribute<?,?>)attribute).getType() instanceof ManagedType)) //not an association, the entity graph reports that already
+				return false;
+
+			type = (ManagedType<?>)((SingularAttribute<?,?>)attribute).getType();
+		}
+
+		return false;
+	}
+
+	/**
+	 * Follows a path of associations through the model
+	 * @param type The type to start at, non-null
+	 * @param path The names of the associations to follow, non-null
+	 * @return The lowercase names of the entities on the path
+	 * @throws IllegalArgumentException If an association does not exist
+	 */
+	private Set<String> getAssociatedEntities(ManagedType<?> type, String[] path) {
+		Set<String> entities = new HashSet<>();
+
+		for(String name : path) {
+			Attribute<?,?> attribute = type.getAttribute(name);
+			Type<?> target = attribute.isCollection() ? ((PluralAttribute<?,?,?>)attribute).getElementType() : ((SingularAttribute<?,?>)attribute).getType();
+
+			if(!(target instanceof ManagedType)) //not an association, the entity graph reports that already
+				break;
+
+			entities.add(target.getJavaType().getSimpleName().toLowerCase());
+			type = (ManagedType<?>)target;
+		}
+
+		return entities;
+	}
+
+	/**
+	 * Finds the entity type by its name as used in requests
+	 * @param entityName The lowercase name of the entity, e.g. "eventpart"
+	 * @return The entity type
+	 * @throws VerificationFailedException If there is no such entity
+	 */
+	private EntityType<?> getEntityType(String entityName) throws VerificationFailedException {
+		for(EntityType<?> type : entityManager.getMetamodel().getEntities()) {
+			if(type.getName().equalsIgnoreCase(entityName))
+				return type;
+		}
+
+		throw new VerificationFailedException("Unknown entity " + entityName);
+	}
+
+	/**
+	 * Sets the JPQL variable(s) for the given attribute to the correct value. Ranges set one variable for each end, lists set their values as a list
+	 * @param attr The attribute, non-null
+	 * @param jpqlVars The data structure to store the JPQL variable -> value mapping in, non-null
+	 * @param jpqlVar The JPQL variable name to use, non-null
+	 */
+	private void setAttributeCorrectly(AttributeNode attr, Map<String,Object> jpqlVars, String jpqlVar) {
+		String attrName = attr.getName().getString();
+
+		if(attr instanceof ListAttributeNode) {
+			List<AttributeNode> values = ((ListAttributeNode)attr).getValues();
+
+			if(attr.getOperator() == AttributeOperator.BETWEEN) {
+				jpqlVars.put(jpqlVar + "_from", getValue(values.get(0), attrName));
+				jpqlVars.put(jpqlVar + "_to", getValue(values.get(1), attrName));
+			}
+			else {
+				List<Object> list = new ArrayList<>();
+
+				for(AttributeNode value : values) {
+					list.add(getValue(value, attrName));
+				}
+
+				jpqlVars.put(jpqlVar, list);
+			}
+		}
+		else
+			jpqlVars.put(jpqlVar, getValue(attr, attrName));
+	}
+
+	/**
+	 * Converts the value of an attribute to the type of its column
+	 * @param valueNode The node containing the value, non-null
+	 * @param attrName The name of the attribute, non-null
+	 * @return The value, null if the node has no value
+	 */
+	private Object getValue(AttributeNode valueNode, String attrName) {
+		//nothing extra needs to be done for a string node other than using its value
+		if(valueNode instanceof StringAttributeNode)
+			return ((StringAttributeNode)valueNode).getValue().getString();
+		//construct the jpql value for the number node from the numbers
+		else if(valueNode instanceof NumberAttributeNode) {
+			List<NumberNode> numbers = ((NumberAttributeNode)valueNode).getNumbers();
+
+			//yes, vars can be any object
+			switch(numbers.size()) {
+				case 5: return LocalDateTime.of(numbers.get(0).getNumber(), numbers.get(1).getNumber(), numbers.get(2).getNumber(), numbers.get(3).getNumber(), numbers.get(4).getNumber());
+				case 3: return LocalDate.of(numbers.get(0).getNumber(), numbers.get(1).getNumber(), numbers.get(2).getNumber());
+				case 1:
+					//differentiate between long and category
+					if(attrName.toLowerCase().contains("category"))
+						return EventCategory.values()[numbers.get(0).getNumber()];
+					else
+						return new Long(numbers.get(0).getNumber()); //needs to be in a wrapper class or else it doesn't work
+			}
+		}
+
+		return null;
 	}
 
 	/**
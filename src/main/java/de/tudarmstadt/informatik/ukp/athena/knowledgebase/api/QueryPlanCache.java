@@ -0,0 +1,190 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.AttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.AttributeOperator;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.ListAttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.NumberAttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestEntityNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestHierarchyNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.StringNode;
+
+/**
+ * Caches the verified JPQL string of requests by their shape, which consists of the function, the entities, the attribute names,
+ * the kinds of the attribute values and the given options, but not the values themselves. Requests with the same shape pass the same verification
+ * and result in the same JPQL string, so for a known shape only the attribute values need to be bound.
+ * The least recently used shape is removed when the cache is full
+ */
+public class QueryPlanCache {
+	private final Map<String,QueryPlan> plans;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * @param maxSize The maximum amount of shapes to cache
+	 */
+	public QueryPlanCache(int maxSize) {
+		plans = Collections.synchronizedMap(new LinkedHashMap<String,QueryPlan>(16, 0.75F, true) { //access order for LRU
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String,QueryPlan> eldest) {
+				return size() > maxSize;
+			}
+		});
+	}
+
+	/**
+	 * Gets the cached plan for requests with the same shape as the given one
+	 * @param tree The parsed request, non-null
+	 * @return The cached plan, null if there is none
+	 */
+	public QueryPlan get(RequestNode tree) {
+		String shape = getShape(tree);
+		QueryPlan plan = shape == null ? null : plans.get(shape);
+
+		if(plan == null)
+			misses.incrementAndGet();
+		else
+			hits.incrementAndGet();
+
+		return plan;
+	}
+
+	/**
+	 * Caches the plan for requests with the same shape as the given one. Should only be called after the request was verified successfully
+	 * @param tree The parsed request, non-null
+	 * @param plan The plan to cache, non-null
+	 */
+	public void put(RequestNode tree, QueryPlan plan) {
+		String shape = getShape(tree);
+
+		if(shape != null)
+			plans.put(shape, plan);
+	}
+
+	/**
+	 * @return How often a plan was found in the cache
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return How often no plan was found in the cache
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * @param value The attribute node containing a single value, non-null
+	 * @return The kind of the value: "n" followed by the amount of numbers, "s" for strings or "l" for patterns
+	 */
+	private static String getKind(AttributeNode value) {
+		if(value instanceof NumberAttributeNode) //the amount of numbers decides which type the value has
+			return "n" + ((NumberAttributeNode)value).getNumbers().size();
+		else
+			return value.getOperator() == AttributeOperator.LIKE ? "l" : "s";
+	}
+
+	/**
+	 * Builds the shape of a request, e.g. "NONE/paper:title=s&releaseDate=n3/person" for /paper:title=X&releaseDate=2018+1+1/person.
+	 * Comparisons keep their operator ("releaseDate>=n3"), ranges and lists contain the kind of each value ("releaseDate=n3..n3", "title=s,s").
+	 * The options that are given are added with the selected fields, but without the paging values, e.g. "$limit&cursor&fields=title+releaseDate"
+	 * @param tree The parsed request, non-null
+	 * @return The shape of the request, null if the request is incomplete (this is caught by the verification)
+	 */
+	static String getShape(RequestNode tree) {
+		StringBuilder shape = new StringBuilder(tree.getFunction().name());
+
+		for(RequestHierarchyNode hierarchyNode : tree.getHierarchy()) {
+			RequestEntityNode entity = hierarchyNode.getEntity();
+			char separator = ':';
+
+			if(entity == null)
+				return null;
+
+			shape.append('/').append(entity.getEntityName().getString());
+
+			for(AttributeNode attr : entity.getAttributes()) {
+				shape.append(separator).append(attr.getName().getString()).append(attr.getOperator().getSymbol());
+
+				if(attr instanceof ListAttributeNode) { //every value is verified on its own, so all of their kinds are part of the shape
+					String valueSeparator = "";
+
+					for(AttributeNode value : ((ListAttributeNode)attr).getValues()) {
+						shape.append(valueSeparator).append(getKind(value));
+						valueSeparator = attr.getOperator() == AttributeOperator.BETWEEN ? ".." : ",";
+					}
+				}
+				else
+					shape.append(getKind(attr));
+
+				separator = '&';
+			}
+		}
+
+		if(tree.isPaged() || !tree.getFields().isEmpty()) {
+			StringBuilder options = new StringBuilder();
+
+			if(tree.getLimit() != null)
+				options.append("&limit");
+
+			if(tree.getOffset() != null)
+				options.append("&offset");
+
+			if(tree.getCursor() != null)
+				options.append("&cursor");
+
+			if(!tree.getFields().isEmpty()) {
+				char fieldSeparator = '=';
+
+				options.append("&fields");
+
+				for(StringNode field : tree.getFields()) {
+					options.append(fieldSeparator).append(field.getString());
+					fieldSeparator = '+';
+				}
+			}
+
+			shape.append('$').append(options.substring(1)); //remove first &
+		}
+
+		return shape.toString();
+	}
+
+	/**
+	 * What is needed to run a request of a known shape
+	 */
+	public static class QueryPlan {
+		private final String jpql;
+		private final String resultEntity;
+
+		/**
+		 * @param jpql The JPQL string of the request, without any user input
+		 * @param resultEntity The name of the entity that the request returns
+		 */
+		public QueryPlan(String jpql, String resultEntity) {
+			this.jpql = jpql;
+			this.resultEntity = resultEntity;
+		}
+
+		/**
+		 * @return The JPQL string of the request, without any user input
+		 */
+		public String getJPQL() {
+			return jpql;
+		}
+
+		/**
+		 * @return The name of the entity that the request returns
+		 */
+		public String getResultEntity() {
+			return resultEntity;
+		}
+	}
+}
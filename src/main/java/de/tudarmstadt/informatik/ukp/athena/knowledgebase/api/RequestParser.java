@@ -4,6 +4,8 @@ import java.util.Deque;
 
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.RequestToken.RequestTokenType;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.AttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.AttributeOperator;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.ListAttributeNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.NumberAttributeNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.NumberNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestEntityNode;
@@ -36,7 +38,11 @@ public class RequestParser {
 
 		//as long as there are tokens in the queue
 		while(currentToken != null && currentToken.type != RequestTokenType.END) { //can be null if the last thing was an entity name (before the :), poll returns null if the deque is empty
-			if(root.getHierarchy().size() == 0)
+			if(root.getHierarchy().size() > 0 && currentToken.type == RequestTokenType.OPTIONS_SPECIFIER) {
+				parseOptions(root);
+				accept(RequestTokenType.END); //the options are always the last part of a request
+			}
+			else if(root.getHierarchy().size() == 0)
 			{
 				if(tokens.peek().actual.equals("count")) //peek because the currentToken is / and not count
 				{
@@ -104,14 +110,82 @@ public class RequestParser {
 				node.addAttributeNode(parseAttribute());
 			}
 		}
-		else
-			accept(RequestTokenType.END); //if there are no attributes, it should be the end of the request
+		else if(currentToken.type != RequestTokenType.OPTIONS_SPECIFIER)
+			accept(RequestTokenType.END); //if there are no attributes, it should be the end of the request (or the options)
 
 		return node;
 	}
 
 	/**
-	 * Parses an attribute ("foo=bar" or "foo=b+a+r" or "foo=123" or "foo=1+2+3")
+	 * Parses the options at the end of a request ("$limit=10&offset=20&cursor=c2s&fields=title+releaseDate")
+	 * @param root The request to set the options of, non-null
+	 * @throws SyntaxException When an ERROR or unexpected token or an unknown option appears
+	 */
+	private void parseOptions(RequestNode root) throws SyntaxException {
+		accept(RequestTokenType.OPTIONS_SPECIFIER);
+		parseOption(root); //the first option, same as with the attributes
+
+		while(currentToken.type == RequestTokenType.ATTR_SEPARATOR) {
+			accept(RequestTokenType.ATTR_SEPARATOR);
+			parseOption(root);
+		}
+	}
+
+	/**
+	 * Parses a single option, options look like attributes
+	 * @param root The request to set the option of, non-null
+	 * @throws SyntaxException When an ERROR or unexpected token or an unknown option appears
+	 */
+	private void parseOption(RequestNode root) throws SyntaxException {
+		AttributeNode option = parseAttribute();
+		String name = option.getName().getString();
+
+		if(option.getOperator() != AttributeOperator.EQUALS) //options are set, not compared
+			throw new SyntaxException(option.tokenIndex, name);
+
+		switch(name) {
+			case "limit": root.setLimit(getSingleNumber(option)); break;
+			case "offset": root.setOffset(getSingleNumber(option)); break;
+			case "cursor":
+				if(!(option instanceof StringAttributeNode)) //cursors always start with a letter
+					throw new SyntaxException(option.tokenIndex, name);
+
+				root.setCursor(((StringAttributeNode)option).getValue());
+				break;
+			case "fields":
+				if(!(option instanceof StringAttributeNode))
+					throw new SyntaxException(option.tokenIndex, name);
+
+				StringNode value = ((StringAttributeNode)option).getValue();
+
+				for(String fieldName : value.getString().split(" ")) { //the fields are separated by +, which became spaces
+					StringNode field = new StringNode(value.tokenIndex);
+
+					field.setString(fieldName);
+					root.addField(field);
+				}
+
+				break;
+			default: throw new SyntaxException(option.tokenIndex, name);
+		}
+	}
+
+	/**
+	 * Gets the value of an option that consists of one number ("limit=10")
+	 * @param option The parsed option, non-null
+	 * @return The node of the number
+	 * @throws SyntaxException If the value is not exactly one number
+	 */
+	private NumberNode getSingleNumber(AttributeNode option) throws SyntaxException {
+		if(!(option instanceof NumberAttributeNode) || ((NumberAttributeNode)option).getNumbers().size() != 1)
+			throw new SyntaxException(option.tokenIndex, option.getName().getString());
+
+		return ((NumberAttributeNode)option).getNumbers().get(0);
+	}
+
+	/**
+	 * Parses an attribute ("foo=bar" or "foo=b+a+r" or "foo=123" or "foo=1+2+3"), which can also be compared ("foo>=1+2+3"),
+	 * have multiple values ("foo=1..5" or "foo=a,b,c") or contain wildcards ("foo=ba*")
 	 * @return The abstract syntax tree representing this construct
 	 * @throws SyntaxException When an ERROR or unexpected token appears
 	 */
@@ -120,23 +194,135 @@ public class RequestParser {
 		AttributeNode node;
 		StringNode stringNode = new StringNode(attrIndex);
 		String name = accept(RequestTokenType.NAME);
+		AttributeOperator operator;
 
 		stringNode.setString(name);
-		accept(RequestTokenType.ATTR_EQ);
+		operator = parseOperator();
 
-		//attributes either consist of strings or numbers
+		if(hasMultipleValues())
+			node = parseValues(attrIndex, operator);
+		else {
+			node = parseValue(attrIndex);
+
+			if(node.getOperator() == AttributeOperator.LIKE && operator != AttributeOperator.EQUALS) //foo<ba* doesn't make sense
+				throw new SyntaxException(attrIndex, name);
+			else if(node.getOperator() != AttributeOperator.LIKE)
+				node.setOperator(operator);
+		}
+
+		node.setName(stringNode); //there's no way to know the node type beforehand, so setting the name will happen here
+		return node;
+	}
+
+	/**
+	 * Parses the comparison between an attribute's name and its value ("=", "&lt;", "&lt;=", "&gt;" or "&gt;=")
+	 * @return The operator
+	 * @throws SyntaxException When an ERROR or unexpected token appears
+	 */
+	private AttributeOperator parseOperator() throws SyntaxException {
 		switch(currentToken.type) {
-			case NAME: node = parseStringAttribute(attrIndex); break;
-			case NUMBER: node = parseNumberAttribute(attrIndex); break;
+			case ATTR_EQ:
+				accept();
+				return AttributeOperator.EQUALS;
+			case ATTR_LESS:
+				accept();
+
+				if(currentToken.type != RequestTokenType.ATTR_EQ)
+					return AttributeOperator.LESS;
+
+				accept();
+				return AttributeOperator.LESS_EQUAL;
+			case ATTR_GREATER:
+				accept();
+
+				if(currentToken.type != RequestTokenType.ATTR_EQ)
+					return AttributeOperator.GREATER;
+
+				accept();
+				return AttributeOperator.GREATER_EQUAL;
 			default: throw new SyntaxException(currentToken.index, currentToken.actual);
 		}
+	}
 
-		node.setName(stringNode); //there's no way to know the node type beforehand, so setting the name will happen here
+	/**
+	 * Looks ahead whether the current attribute has more than one value, i.e. whether there's a .. or , before the attribute ends
+	 * @return true if the attribute has multiple values
+	 */
+	private boolean hasMultipleValues() {
+		for(RequestToken token : tokens) { //the current token is always part of the first value
+			switch(token.type) {
+				case RANGE:
+				case LIST_SEPARATOR: return true;
+				case ATTR_SEPARATOR:
+				case HIERARCHY_SEPARATOR:
+				case OPTIONS_SPECIFIER:
+				case END: return false;
+				default: break;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Parses the values of an attribute with multiple values ("1..5" or "a,b,c")
+	 * @param attrIndex The attribute's index, as there were accept() calls before the call of this method (the name of the attr and the operator), greater than or equal to 0
+	 * @param operator The operator before the values, has to be =
+	 * @return The abstract syntax tree representing this construct
+	 * @throws SyntaxException When an ERROR or unexpected token appears, a range does not have exactly two values or a value contains wildcards
+	 */
+	private ListAttributeNode parseValues(int attrIndex, AttributeOperator operator) throws SyntaxException {
+		ListAttributeNode node = new ListAttributeNode(attrIndex);
+		RequestTokenType separator = null;
+
+		if(operator != AttributeOperator.EQUALS) //foo<1..5 doesn't make sense
+			throw new SyntaxException(attrIndex, operator.getSymbol());
+
+		do {
+			AttributeNode value;
+
+			if(separator == null) { //the first value, the separator after it decides whether it's a range or a list
+				value = parseValue(currentToken.index);
+				separator = currentToken.type;
+			}
+			else {
+				accept(separator);
+				value = parseValue(currentToken.index);
+			}
+
+			if(value.getOperator() == AttributeOperator.LIKE) //wildcards only work on their own
+				throw new SyntaxException(value.tokenIndex, value.valueToString());
+
+			node.addValue(value);
+		} while(currentToken.type == separator);
+
+		if(separator == RequestTokenType.RANGE && node.getValues().size() != 2) //a range has a start and an end
+			throw new SyntaxException(currentToken.index, currentToken.actual);
+
+		node.setOperator(separator == RequestTokenType.RANGE ? AttributeOperator.BETWEEN : AttributeOperator.IN);
 		return node;
 	}
 
 	/**
-	 * Parses a string attribute ("foo=bar" or "foo=b+a+r")
+	 * Parses a single value, either a string or numbers
+	 * @param index The index of the node to create
+	 * @return The abstract syntax tree representing this construct
+	 * @throws SyntaxException When an ERROR or unexpected token appears
+	 */
+	private AttributeNode parseValue(int index) throws SyntaxException {
+		//attributes either consist of strings or numbers
+		switch(currentToken.type) {
+			case NAME:
+			case ESCAPE:
+			case WILDCARD: return parseStringAttribute(index);
+			case NUMBER: return parseNumberAttribute(index);
+			default: throw new SyntaxException(currentToken.index, currentToken.actual);
+		}
+	}
+
+	/**
+	 * Parses a string attribute ("foo=bar" or "foo=b+a+r"). If it contains wildcards ("foo=b*r"), its operator is {@link AttributeOperator#LIKE}
+	 * and its value is the pattern, in which * is replaced with % and the characters which have a special meaning in patterns are escaped
 	 * @param attrIndex The attribute's index, as there was an accept() call before the call of this method (the name of the attr), greater than or equal to 0
 	 * @return The abstract syntax tree representing this construct
 	 * @throws SyntaxException When an ERROR or unexpected token appears
@@ -145,34 +331,65 @@ public class RequestParser {
 		StringAttributeNode node = new StringAttributeNode(attrIndex);
 		StringNode stringNode = new StringNode(currentToken.index);
 		String value = "";
+		String pattern = ""; //the value as a pattern, in case it contains wildcards
+		boolean wildcard = false;
 
 		//while there is a string...
-		while(currentToken.type == RequestTokenType.NAME || currentToken.type == RequestTokenType.NUMBER || currentToken.type == RequestTokenType.ESCAPE) { //ACL+2018 should be considered a string token as well
+		while(currentToken.type == RequestTokenType.NAME || currentToken.type == RequestTokenType.NUMBER || currentToken.type == RequestTokenType.ESCAPE || currentToken.type == RequestTokenType.WILDCARD) { //ACL+2018 should be considered a string token as well
+			String part = null;
+
 			//...add it to the attribute existing value...
 			if(currentToken.type == RequestTokenType.NAME)
-				value += accept(RequestTokenType.NAME);
+				part = accept(RequestTokenType.NAME);
 			else if(currentToken.type == RequestTokenType.NUMBER)
-				value += accept(RequestTokenType.NUMBER);
+				part = accept(RequestTokenType.NUMBER);
 			else if(currentToken.type == RequestTokenType.ESCAPE)
 			{
 				accept(); //accept the escape character
-				value += currentToken.actual; //add whatever comes next to the escape character
+				part = currentToken.actual; //add whatever comes next to the escape character
 				accept(); //accept whatever comes next
 			}
+			else
+				accept(RequestTokenType.WILDCARD);
+
+			if(part == null) {
+				wildcard = true;
+				pattern += "%";
+			}
+			else {
+				value += part;
+				pattern += escapePattern(part);
+			}
 
 			//...and check for more parts in the attribute
 			if(currentToken.type == RequestTokenType.SPACE) //if it's not a SPACE, then it will be something else and be caught by the while condition
 			{
 				accept();
 				value += " ";
+				pattern += " ";
 			}
 		}
 
-		stringNode.setString(value.trim()); //trim off the last space
+		stringNode.setString(wildcard ? pattern.trim() : value.trim()); //trim off the last space
 		node.setValue(stringNode);
+
+		if(wildcard)
+			node.setOperator(AttributeOperator.LIKE);
+
 		return node;
 	}
 
+	/**
+	 * Escapes the characters that have a special meaning in LIKE patterns
+	 * @param part A part of a string value, non-null
+	 * @return The part, in which %, _ and the escape character are escaped
+	 */
+	private String escapePattern(String part) {
+		String escape = String.valueOf(AttributeOperator.LIKE_ESCAPE);
+
+		return part.replace(escape, escape + escape).replace("%", escape + "%").replace("_", escape + "_");
+	}
+
 	/**
 	 * Parses a number attribute ("foo=123" or "foo=1+2+3")
 	 * @param attrIndex The attribute's index, as there was an accept() call before the call of this method (the name of the attr), greater than or equal to 0
@@ -94,6 +94,18 @@ public class RequestScanner {
 			case '&': return RequestTokenType.ATTR_SEPARATOR;
 			case ':': return RequestTokenType.ATTR_SPECIFIER;
 			case '/': return RequestTokenType.HIERARCHY_SEPARATOR;
+			case '$': return RequestTokenType.OPTIONS_SPECIFIER;
+			case '<': return RequestTokenType.ATTR_LESS;
+			case '>': return RequestTokenType.ATTR_GREATER;
+			case ',': return RequestTokenType.LIST_SEPARATOR;
+			case '*': return RequestTokenType.WILDCARD;
+			case '.': //only two dots are a range, a single one is an error
+				if(currentIndex < request.length && request[currentIndex] == '.') {
+					appendCharacter();
+					return RequestTokenType.RANGE;
+				}
+
+				return RequestTokenType.ERROR;
 			case '`': previouslyEscaped = true; return RequestTokenType.ESCAPE; //backslash does not work in url, so use the backtick
 			case '+': return RequestTokenType.SPACE;
 			default: return RequestTokenType.ERROR;
@@ -0,0 +1,41 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PersistenceManager;
+
+/**
+ * Scopes the EntityManagers of the threads serving API requests to one request.
+ * Each request thread gets its own EntityManager from the {@link PersistenceManager}, which is closed after the response has been written,
+ * so the persistence context of one request is never reused by (or leaks stale entities into) the next request on the same thread
+ */
+@Configuration
+public class RequestScopedEntityManager implements WebMvcConfigurer, HandlerInterceptor {
+	/**
+	 * Registers this as an interceptor for every request
+	 * @param registry The registry to add the interceptor to
+	 */
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(this);
+	}
+
+	/**
+	 * Closes the EntityManager of the request thread. This is called after the response has been written,
+	 * so lazy associations can still be loaded while the result is serialized
+	 * @param request The current request
+	 * @param response The current response
+	 * @param handler The handler that handled the request
+	 * @param ex The exception that was thrown while handling the request, null if there was none
+	 */
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		PersistenceManager.closeEntityManager();
+	}
+}
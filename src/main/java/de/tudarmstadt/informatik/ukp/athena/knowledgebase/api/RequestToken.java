@@ -31,14 +31,20 @@ public class RequestToken {
 
 	public enum RequestTokenType {
 		ATTR_EQ, // =
+		ATTR_GREATER, // >
+		ATTR_LESS, // <
 		ATTR_SEPARATOR, // &
 		ATTR_SPECIFIER, // :
 		END, //the end of the world (well, more like the request)
 		ERROR, //an error (duh!)
 		ESCAPE, //escape character \
 		HIERARCHY_SEPARATOR, // /
+		LIST_SEPARATOR, // ,
 		NAME, //an entity, attribute name, or attribute value
 		NUMBER, //a number (duh!)
-		SPACE; // +
+		OPTIONS_SPECIFIER, // $
+		RANGE, // ..
+		SPACE, // +
+		WILDCARD; // *
 	}
 }
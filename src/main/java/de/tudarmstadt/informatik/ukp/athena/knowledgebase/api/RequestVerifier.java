@@ -9,12 +9,14 @@ import java.util.Map;
 import javax.persistence.Column;
 
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.AttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.ListAttributeNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.NumberAttributeNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestEntityNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestFunction;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestHierarchyNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.StringAttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.StringNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Conference;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Event;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.EventPart;
@@ -122,20 +124,14 @@ public class RequestVerifier {
 				if(!ATTRIBUTES.get(entityName).contains(attrName))
 					throw new VerificationFailedException("Unknown attribute " + attrName + " for entity " + entityName + "!");
 
-				//check correct value
-				if(attr instanceof NumberAttributeNode) {
-					//numerical attribute found, but should be a string attribute
-					if(!entityContainsNumericalField(entityName, attrName))
-						throw new VerificationFailedException("Expected a string for attribute " + attrName + " but got " + ((NumberAttributeNode)attr).valuesToString());
-					//incorrect amount of numbers
-					else if(((NumberAttributeNode)attr).getNumbers().size() != NUMERICAL_ATTRIBUTES.get(entityName).get(attrName))
-						throw new VerificationFailedException("Unexpected amount of numbers given for attribute " + attrName + ". " + "Got " + ((NumberAttributeNode)attr).getNumbers().size() + ", need " + NUMERICAL_ATTRIBUTES.get(entityName).get(attrName));
-				}
-				else if(attr instanceof StringAttributeNode) {
-					//string attribute found, but should be a numerical attribute
-					if(entityContainsNumericalField(entityName, attrName))
-						throw new VerificationFailedException("Expected " + NUMERICAL_ATTRIBUTES.get(entityName).get(attrName) +" number(s) for attribute " + attrName + " but got " + ((StringAttributeNode)attr).getValue().getString());
+				//check correct value, for attributes with multiple values this goes for every one of them
+				if(attr instanceof ListAttributeNode) {
+					for(AttributeNode value : ((ListAttributeNode)attr).getValues()) {
+						verifyValue(entityName, attrName, value);
+					}
 				}
+				else
+					verifyValue(entityName, attrName, attr);
 			}
 		}
 
@@ -144,6 +140,50 @@ public class RequestVerifier {
 
 		if(tree.getFunction() == RequestFunction.ENHANCE && !resultEntity.equals("paper") && !resultEntity.equals("person"))
 			throw new VerificationFailedException("Entity " + resultEntity + " cannot be enhanced with Semantic Scholar data.");
+
+		verifyOptions(tree);
+	}
+
+	/**
+	 * Checks whether the options (paging and field selection) fit the request. Their values are checked when they are set in the query,
+	 * see {@link QueryBuilder#createQuery(String, RequestNode)}
+	 * @param tree The abstract syntax tree that depicts the API request, non-null
+	 * @throws VerificationFailedException If the verification fails
+	 */
+	private void verifyOptions(RequestNode tree) throws VerificationFailedException {
+		if(tree.getFunction() == RequestFunction.COUNT && (tree.isPaged() || !tree.getFields().isEmpty()))
+			throw new VerificationFailedException("A count cannot be paged or restricted to fields!");
+
+		if(!tree.getFields().isEmpty() && tree.getFunction() != RequestFunction.NONE)
+			throw new VerificationFailedException("Only the fields of requests without a function can be selected!");
+
+		for(StringNode field : tree.getFields()) {
+			if(!ATTRIBUTES.get(resultEntity).contains(field.getString()))
+				throw new VerificationFailedException("Unknown field " + field.getString() + " for entity " + resultEntity + "!");
+		}
+	}
+
+	/**
+	 * Checks whether the value of an attribute has the correct type
+	 * @param entityName The name of the entity the attribute belongs to, non-null
+	 * @param attrName The name of the attribute, non-null
+	 * @param value The node containing the value, non-null
+	 * @throws VerificationFailedException If the value has the wrong type or the wrong amount of numbers
+	 */
+	private void verifyValue(String entityName, String attrName, AttributeNode value) throws VerificationFailedException {
+		if(value instanceof NumberAttributeNode) {
+			//numerical attribute found, but should be a string attribute
+			if(!entityContainsNumericalField(entityName, attrName))
+				throw new VerificationFailedException("Expected a string for attribute " + attrName + " but got " + ((NumberAttributeNode)value).valuesToString());
+			//incorrect amount of numbers
+			else if(((NumberAttributeNode)value).getNumbers().size() != NUMERICAL_ATTRIBUTES.get(entityName).get(attrName))
+				throw new VerificationFailedException("Unexpected amount of numbers given for attribute " + attrName + ". " + "Got " + ((NumberAttributeNode)value).getNumbers().size() + ", need " + NUMERICAL_ATTRIBUTES.get(entityName).get(attrName));
+		}
+		else if(value instanceof StringAttributeNode) {
+			//string attribute found, but should be a numerical attribute (this includes patterns, numbers can't be matched with wildcards)
+			if(entityContainsNumericalField(entityName, attrName))
+				throw new VerificationFailedException("Expected " + NUMERICAL_ATTRIBUTES.get(entityName).get(attrName) +" number(s) for attribute " + attrName + " but got " + ((StringAttributeNode)value).getValue().getString());
+		}
 	}
 
 	/**
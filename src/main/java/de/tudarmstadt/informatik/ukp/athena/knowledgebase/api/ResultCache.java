@@ -0,0 +1,266 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.AttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.AttributeOperator;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.ListAttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.NumberAttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.NumberNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestEntityNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestHierarchyNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.StringAttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.StringNode;
+
+/**
+ * Caches the results of read-only requests by their normalized request (function, entities, attributes with values and fetched associations).
+ * Every result remembers which entities it was read from, when one of them is changed (see
+ * {@link de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.EntityChangeNotifier EntityChangeNotifier}) all results
+ * touching it are removed. Changes that don't go through this process (e.g. a separate ParsedDataInserter run) are only
+ * picked up when the results expire after the time to live.
+ * The least recently used result is removed when the cache is full
+ */
+public class ResultCache {
+	private final Map<String,Entry> results;
+	private final long timeToLive;
+	/**
+	 * Increased on every invalidation, so results that were read while an entity changed are not cached
+	 */
+	private final AtomicLong version = new AtomicLong();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * @param maxSize The maximum amount of results to cache
+	 * @param timeToLive How long a result is valid, even if none of its entities changed
+	 */
+	public ResultCache(int maxSize, Duration timeToLive) {
+		this.timeToLive = timeToLive.toMillis();
+		results = Collections.synchronizedMap(new LinkedHashMap<String,Entry>(16, 0.75F, true) { //access order for LRU
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String,Entry> eldest) {
+				return size() > maxSize;
+			}
+		});
+	}
+
+	/**
+	 * Gets the cached result of a request
+	 * @param key The normalized request, see {@link #getKey(RequestNode, String)}
+	 * @return The cached result, null if there is none or it has expired
+	 */
+	public Object get(String key) {
+		return get(key, System.currentTimeMillis());
+	}
+
+	/**
+	 * Gets the cached result of a request
+	 * @param key The normalized request
+	 * @param now The current time in milliseconds
+	 * @return The cached result, null if there is none or it has expired
+	 */
+	Object get(String key, long now) {
+		Entry entry = key == null ? null : results.get(key);
+
+		if(entry != null && now - entry.created > timeToLive) {
+			results.remove(key, entry);
+			entry = null;
+		}
+
+		if(entry == null)
+			misses.incrementAndGet();
+		else
+			hits.incrementAndGet();
+
+		return entry == null ? null : entry.result;
+	}
+
+	/**
+	 * Caches the result of a request, unless one of the cached entities changed since the request started
+	 * @param key The normalized request, see {@link #getKey(RequestNode, String)}
+	 * @param result The result to cache
+	 * @param entities The lowercase names of all entities the result was read from
+	 * @param startVersion The {@link #getVersion() version} of the cache before the request was run
+	 */
+	public void put(String key, Object result, Set<String> entities, long startVersion) {
+		put(key, result, entities, startVersion, System.currentTimeMillis());
+	}
+
+	/**
+	 * Caches the result of a request, unless one of the cached entities changed since the request started
+	 * @param key The normalized request
+	 * @param result The result to cache
+	 * @param entities The lowercase names of all entities the result was read from
+	 * @param startVersion The version of the cache before the request was run
+	 * @param now The current time in milliseconds
+	 */
+	void put(String key, Object result, Set<String> entities, long startVersion, long now) {
+		if(key == null)
+			return;
+
+		synchronized(results) { //so no invalidation can happen between checking the version and adding the result
+			if(version.get() == startVersion)
+				results.put(key, new Entry(result, entities, now));
+		}
+	}
+
+	/**
+	 * Removes all results that were read from the given entity
+	 * @param entity The lowercase name of the entity that changed
+	 */
+	public void invalidate(String entity) {
+		synchronized(results) {
+			version.incrementAndGet();
+			results.values().removeIf(entry -> entry.entities.contains(entity));
+		}
+	}
+
+	/**
+	 * @return The current version of the cache, needs to be passed to {@link #put(String, Object, Set, long)}
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * @return How often a result was found in the cache
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return How often no result was found in the cache
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Appends a single value to a normalized request
+	 * @param key The normalized request so far, non-null
+	 * @param value The attribute node containing the value, non-null
+	 */
+	private static void appendValue(StringBuilder key, AttributeNode value) {
+		if(value instanceof NumberAttributeNode) {
+			char numberSeparator = 'n';
+
+			for(NumberNode number : ((NumberAttributeNode)value).getNumbers()) {
+				key.append(numberSeparator).append(number.getNumber());
+				numberSeparator = '+';
+			}
+		}
+		else if(value instanceof StringAttributeNode) {
+			String string = ((StringAttributeNode)value).getValue().getString();
+
+			if(value.getOperator() == AttributeOperator.LIKE) //a pattern, not the same as a string with the same characters
+				key.append('l');
+
+			key.append(string.length()).append(':').append(string);
+		}
+	}
+
+	/**
+	 * Builds the normalized request, e.g. "NONE/paper:title=10:Some Paper&releaseDate=n2018+1+1/person$limit=20&fields=fullName?authors,event".
+	 * String values are prefixed with their length, so values containing separators can't be mistaken for other requests.
+	 * Comparisons, ranges and lists keep their operator and separators, e.g. "releaseDate>=n2018+1+1" or "title=l4:The%".
+	 * The fetched associations are sorted and deduplicated, so their order doesn't matter
+	 * @param tree The parsed request, non-null
+	 * @param fetch The associations to load with the result, may be null
+	 * @return The normalized request, null if the request is incomplete (this is caught by the verification)
+	 */
+	static String getKey(RequestNode tree, String fetch) {
+		StringBuilder key = new StringBuilder(tree.getFunction().name());
+
+		for(RequestHierarchyNode hierarchyNode : tree.getHierarchy()) {
+			RequestEntityNode entity = hierarchyNode.getEntity();
+			char separator = ':';
+
+			if(entity == null)
+				return null;
+
+			key.append('/').append(entity.getEntityName().getString());
+
+			for(AttributeNode attr : entity.getAttributes()) {
+				key.append(separator).append(attr.getName().getString()).append(attr.getOperator().getSymbol());
+
+				if(attr instanceof ListAttributeNode) {
+					String valueSeparator = "";
+
+					for(AttributeNode value : ((ListAttributeNode)attr).getValues()) {
+						key.append(valueSeparator);
+						appendValue(key, value);
+						valueSeparator = attr.getOperator() == AttributeOperator.BETWEEN ? ".." : ",";
+					}
+				}
+				else
+					appendValue(key, attr);
+
+				separator = '&';
+			}
+		}
+
+		if(tree.isPaged() || !tree.getFields().isEmpty()) {
+			StringBuilder options = new StringBuilder();
+
+			if(tree.getLimit() != null)
+				options.append("&limit=").append(tree.getLimit().getNumber());
+
+			if(tree.getOffset() != null)
+				options.append("&offset=").append(tree.getOffset().getNumber());
+
+			if(tree.getCursor() != null)
+				options.append("&cursor=").append(tree.getCursor().getString());
+
+			if(!tree.getFields().isEmpty()) {
+				char fieldSeparator = '=';
+
+				options.append("&fields");
+
+				for(StringNode field : tree.getFields()) {
+					options.append(fieldSeparator).append(field.getString());
+					fieldSeparator = '+';
+				}
+			}
+
+			key.append('$').append(options.substring(1)); //remove first &
+		}
+
+		if(fetch != null && !fetch.trim().isEmpty()) {
+			Set<String> paths = new TreeSet<>(Arrays.asList(fetch.replaceAll("\\s", "").split(",")));
+
+			paths.remove("");
+			key.append('?').append(String.join(",", paths));
+		}
+
+		return key.toString();
+	}
+
+	/**
+	 * A cached result
+	 */
+	private static class Entry {
+		private final Object result;
+		private final Set<String> entities;
+		private final long created;
+
+		/**
+		 * @param result The result of the request
+		 * @param entities The lowercase names of the entities the result was read from
+		 * @param created When the result was cached, in milliseconds
+		 */
+		private Entry(Object result, Set<String> entities, long created) {
+			this.result = result;
+			this.entities = entities;
+			this.created = created;
+		}
+	}
+}
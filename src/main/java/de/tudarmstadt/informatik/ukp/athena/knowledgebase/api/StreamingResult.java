@@ -0,0 +1,89 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes the result of a query to the response while reading it from the database, instead of loading the whole result first.
+ * The result is read through a database cursor and written either as one JSON array or as newline delimited JSON (one result per line).
+ * Every {@value #BATCH_SIZE} results the output is flushed and the persistence context is cleared, so the memory usage
+ * stays the same no matter how large the result is. This relies on every row being one whole result, so queries that fetch collections
+ * can't be streamed, see {@link QueryBuilder#applyFetchGraph(Query, String, String, boolean)}.
+ * Spring runs this on a separate thread after the request thread has returned, so it owns the EntityManager the query was created with
+ */
+public class StreamingResult implements StreamingResponseBody {
+	/**
+	 * How many results are read per round trip and written before flushing
+	 */
+	static final int BATCH_SIZE = 100;
+	private final Query query;
+	private final EntityManager entityManager;
+	private final ObjectWriter writer;
+	private final boolean newlineDelimited;
+
+	/**
+	 * @param query The query to stream the result of, non-null
+	 * @param entityManager The EntityManager the query was created with, taken from the request thread. It is closed when the result was written
+	 * @param objectMapper The object mapper to write the results with, non-null
+	 * @param newlineDelimited true to write one result per line (NDJSON), false to write a JSON array
+	 */
+	public StreamingResult(Query query, EntityManager entityManager, ObjectMapper objectMapper, boolean newlineDelimited) {
+		this.query = query;
+		this.entityManager = entityManager;
+		this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE); //flushed per batch instead
+		this.newlineDelimited = newlineDelimited;
+	}
+
+	/**
+	 * Streams the result to the given output stream
+	 * @param outputStream The output stream of the response
+	 * @throws IOException If writing to the response fails, e.g. because the client disconnected
+	 */
+	@Override
+	public void writeTo(OutputStream outputStream) throws IOException {
+		JsonGenerator generator = writer.getFactory().createGenerator(outputStream);
+		int written = 0;
+
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); //the servlet container closes the response
+		generator.setRootValueSeparator(null); //the lines are separated manually
+
+		try(Stream<?> results = query.setHint("org.hibernate.fetchSize", BATCH_SIZE).getResultStream()) {
+			Iterator<?> iterator = results.iterator();
+
+			if(!newlineDelimited)
+				generator.writeStartArray();
+
+			while(iterator.hasNext()) {
+				writer.writeValue(generator, iterator.next());
+
+				if(newlineDelimited)
+					generator.writeRaw('\n');
+
+				if(++written % BATCH_SIZE == 0) { //the batch has been written completely, don't keep it in memory
+					entityManager.clear();
+					generator.flush();
+				}
+			}
+
+			if(!newlineDelimited)
+				generator.writeEndArray();
+
+			generator.flush();
+		}
+		finally {
+			entityManager.close();
+		}
+	}
+}
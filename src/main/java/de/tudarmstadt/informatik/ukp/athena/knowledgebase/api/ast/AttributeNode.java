@@ -1,10 +1,13 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast;
 
+import java.util.Objects;
+
 /**
  * Represents an attribue name+value, child classes implement its value
  */
 public class AttributeNode extends BaseNode {
 	protected StringNode name;
+	protected AttributeOperator operator = AttributeOperator.EQUALS;
 
 	/**
 	 * @see BaseNode#BaseNode(int)
@@ -28,8 +31,30 @@ public class AttributeNode extends BaseNode {
 		this.name = node;
 	}
 
+	/**
+	 * @return How this attribute is compared to its value
+	 */
+	public AttributeOperator getOperator() {
+		return operator;
+	}
+
+	/**
+	 * Sets how this attribute is compared to its value
+	 * @param operator The operator, non-null
+	 */
+	public void setOperator(AttributeOperator operator) {
+		this.operator = operator;
+	}
+
+	/**
+	 * @return The value of this node as it is written in {@link #toString()}
+	 */
+	public String valueToString() {
+		return "";
+	}
+
 	@Override
 	public boolean equals(Object obj) {
-		return super.equals(obj) && obj instanceof AttributeNode && name.equals(((AttributeNode)obj).name);
+		return super.equals(obj) && obj instanceof AttributeNode && Objects.equals(name, ((AttributeNode)obj).name) && operator == ((AttributeNode)obj).operator;
 	}
 }
@@ -0,0 +1,59 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast;
+
+/**
+ * Defines how an attribute is compared to its value(s)
+ */
+public enum AttributeOperator {
+	/**
+	 * attr=value
+	 */
+	EQUALS("="),
+	/**
+	 * attr&lt;value
+	 */
+	LESS("<"),
+	/**
+	 * attr&lt;=value
+	 */
+	LESS_EQUAL("<="),
+	/**
+	 * attr&gt;value
+	 */
+	GREATER(">"),
+	/**
+	 * attr&gt;=value
+	 */
+	GREATER_EQUAL(">="),
+	/**
+	 * attr=from..to, both inclusive
+	 */
+	BETWEEN("="),
+	/**
+	 * attr=value1,value2,value3
+	 */
+	IN("="),
+	/**
+	 * attr=val*ue, * matches any amount of characters
+	 */
+	LIKE("=");
+
+	/**
+	 * Escapes % and _ (and itself) in the values of LIKE attributes, so only * is a wildcard
+	 */
+	public static final char LIKE_ESCAPE = '!';
+	private final String symbol;
+
+	/**
+	 * @param symbol What is written between the attribute name and the value(s) in a request
+	 */
+	AttributeOperator(String symbol) {
+		this.symbol = symbol;
+	}
+
+	/**
+	 * @return What is written between the attribute name and the value(s) in a request
+	 */
+	public String getSymbol() {
+		return symbol;
+	}
+}
@@ -0,0 +1,56 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents an attribute that has multiple values, either a range (attr=from..to) or a list (attr=a,b,c).
+ * The values are string or number attribute nodes without a name
+ */
+public class ListAttributeNode extends AttributeNode {
+	private final List<AttributeNode> values = new ArrayList<>();
+
+	/**
+	 * @see AttributeNode#AttributeNode(int)
+	 */
+	public ListAttributeNode(int tokenIndex) {
+		super(tokenIndex);
+	}
+
+	/**
+	 * @return The values of this attribute, in the order they appeared in the request
+	 */
+	public List<AttributeNode> getValues() {
+		return values;
+	}
+
+	/**
+	 * Adds a value to this attribute
+	 * @param node The value to add, a string or number attribute node
+	 */
+	public void addValue(AttributeNode node) {
+		values.add(node);
+	}
+
+	@Override
+	public String toString() {
+		return "<" + tokenIndex +">" + name + operator.getSymbol() + valueToString();
+	}
+
+	@Override
+	public String valueToString() {
+		String result = "";
+		String separator = operator == AttributeOperator.BETWEEN ? ".." : ",";
+
+		for(AttributeNode node : values) {
+			result += node.valueToString() + separator;
+		}
+
+		return result.substring(0, result.length() - separator.length()); //remove last separator
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return super.equals(obj) && obj instanceof ListAttributeNode && values.equals(((ListAttributeNode)obj).values);
+	}
+}
@@ -47,7 +47,12 @@ public class NumberAttributeNode extends AttributeNode {
 
 	@Override
 	public String toString() {
-		String result = "<" + tokenIndex +">" + name + "=";
+		return "<" + tokenIndex +">" + name + operator.getSymbol() + valueToString();
+	}
+
+	@Override
+	public String valueToString() {
+		String result = "";
 
 		for(NumberNode node : numbers) {
 			result += node.toString() + "+";
@@ -1,14 +1,10 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast;
 
-import java.io.IOException;
-import java.util.List;
 import java.util.function.BiFunction;
 
 import javax.persistence.Query;
 
-import de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi.S2APIFunctions;
-import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Paper;
-import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.EnhanceJobs;
 
 /**
  * Defines the different function types that an api call can have and what they will do/return when called
@@ -24,34 +20,10 @@ public enum RequestFunction
 	 */
 	COUNT((query, entity) -> "{\"count\": " + query.getSingleResult() + "}"),
 	/**
-	 * Calls the Semantic Scholar API, enhances the data and returns the updated data, only works for authors and papers
+	 * Enhances the data with the Semantic Scholar API in the background, only works for authors and papers.
+	 * Returns the job right away, its progress can be requested at /jobs/{id}
 	 */
-	ENHANCE((query, entity) -> {
-		List<?> resultList = query.getResultList(); //get results to be enhanced
-
-		switch(entity) { //decide which result it is so it can be enhanced correctly
-			case "paper":
-				for(Object o : resultList) { //enhance each result
-					try {
-						S2APIFunctions.completePaperInformationByGeneralSearch((Paper)o, true);
-					}
-					catch(IOException e) {}
-				}
-
-				break;
-			case "person":
-				for(Object o : resultList) { //enhance each result
-					try {
-						S2APIFunctions.completeAuthorInformationByAuthorSearch((Person)o, true);
-					}
-					catch(IOException e) {}
-				}
-
-				break;
-		}
-
-		return resultList; //the models were updated in-place
-	});
+	ENHANCE((query, entity) -> EnhanceJobs.submit(entity, query.getResultList()));
 
 	private BiFunction<Query,String,Object> function;
 
@@ -2,6 +2,7 @@ package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Represents the complete request
@@ -11,6 +12,14 @@ public class RequestNode extends BaseNode {
 	private final List<RequestHierarchyNode> hierarchy = new ArrayList<>();
 	/**Can be added in front of a request*/
 	private RequestFunction function = RequestFunction.NONE;
+	/**The maximum amount of results, null if all results are requested*/
+	private NumberNode limit;
+	/**The amount of results to skip, null if none should be skipped*/
+	private NumberNode offset;
+	/**Where the previous page ended, null if the results should start at the beginning*/
+	private StringNode cursor;
+	/**The fields of the result entity to return, all of the entity is returned if this is empty*/
+	private final List<StringNode> fields = new ArrayList<>();
 
 	/**
 	 * @see BaseNode#BaseNode(int)
@@ -49,6 +58,73 @@ public class RequestNode extends BaseNode {
 		return function;
 	}
 
+	/**
+	 * Sets the maximum amount of results
+	 * @param limit The node containing the maximum amount
+	 */
+	public void setLimit(NumberNode limit) {
+		this.limit = limit;
+	}
+
+	/**
+	 * @return The maximum amount of results, null if all results are requested
+	 */
+	public NumberNode getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Sets the amount of results to skip
+	 * @param offset The node containing the amount
+	 */
+	public void setOffset(NumberNode offset) {
+		this.offset = offset;
+	}
+
+	/**
+	 * @return The amount of results to skip, null if none should be skipped
+	 */
+	public NumberNode getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Sets the cursor the results should start after
+	 * @param cursor The node containing the cursor as it was returned with the previous page
+	 */
+	public void setCursor(StringNode cursor) {
+		this.cursor = cursor;
+	}
+
+	/**
+	 * @return The cursor the results should start after, null if they should start at the beginning
+	 */
+	public StringNode getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Adds a field of the result entity that should be returned
+	 * @param field The node containing the name of the field
+	 */
+	public void addField(StringNode field) {
+		fields.add(field);
+	}
+
+	/**
+	 * @return The fields of the result entity that should be returned, empty if the whole entity should be returned
+	 */
+	public List<StringNode> getFields() {
+		return fields;
+	}
+
+	/**
+	 * @return true if any of limit, offset or cursor is set
+	 */
+	public boolean isPaged() {
+		return limit != null || offset != null || cursor != null;
+	}
+
 	@Override
 	public String toString() {
 		String result = "<0>"; //the index of this kind of node is always 0
@@ -60,11 +136,38 @@ public class RequestNode extends BaseNode {
 			result += node.toString();
 		}
 
+		if(isPaged() || !fields.isEmpty()) { //the options are added at the end, separated by $
+			String options = "";
+
+			if(limit != null)
+				options += "&limit=" + limit.toString();
+
+			if(offset != null)
+				options += "&offset=" + offset.toString();
+
+			if(cursor != null)
+				options += "&cursor=" + cursor.toString();
+
+			if(!fields.isEmpty()) {
+				options += "&fields=";
+
+				for(StringNode field : fields) {
+					options += field.toString() + "+";
+				}
+
+				options = options.substring(0, options.length() - 1); //remove last +
+			}
+
+			result += "$" + options.substring(1); //remove first &
+		}
+
 		return result;
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return super.equals(obj) && obj instanceof RequestNode && ((RequestNode)obj).function == function && hierarchy.equals(((RequestNode)obj).hierarchy);
+		return super.equals(obj) && obj instanceof RequestNode && ((RequestNode)obj).function == function && hierarchy.equals(((RequestNode)obj).hierarchy)
+				&& Objects.equals(limit, ((RequestNode)obj).limit) && Objects.equals(offset, ((RequestNode)obj).offset) && Objects.equals(cursor, ((RequestNode)obj).cursor)
+				&& fields.equals(((RequestNode)obj).fields);
 	}
 }
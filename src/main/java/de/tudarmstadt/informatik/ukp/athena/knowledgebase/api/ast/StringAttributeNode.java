@@ -30,7 +30,12 @@ public class StringAttributeNode extends AttributeNode {
 
 	@Override
 	public String toString() {
-		return "<" + tokenIndex +">" + name + "=" + value.toString();
+		return "<" + tokenIndex +">" + name + operator.getSymbol() + valueToString();
+	}
+
+	@Override
+	public String valueToString() {
+		return value.toString();
 	}
 
 	@Override
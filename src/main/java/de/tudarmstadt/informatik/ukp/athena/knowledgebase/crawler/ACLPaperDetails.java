@@ -0,0 +1,114 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.JsoupHelper;
+
+/**
+ * Holds the key/value rows (venue, year, month etc.) of a paper's detail page on aclanthology.coli.uni-saarland.de.
+ * The page is fetched and parsed only once, so everything that needs information about the paper can share this object
+ */
+class ACLPaperDetails {
+	private final Map<String,String> rows;
+
+	/**
+	 * @param rows The rows of the detail page, key -> value
+	 */
+	private ACLPaperDetails(Map<String,String> rows) {
+		this.rows = rows;
+	}
+
+	/**
+	 * Fetches the detail page at the given URL and parses it
+	 * @param detailURL The URL of the paper's detail page
+	 * @return The details of the paper, without any rows if the page could not be fetched
+	 */
+	static ACLPaperDetails fetch(String detailURL) {
+		Document doc = JsoupHelper.connect(detailURL);
+
+		return doc == null ? new ACLPaperDetails(Collections.emptyMap()) : parse(doc);
+	}
+
+	/**
+	 * Parses the key/value rows of the given detail page
+	 * @param doc The paper's detail page
+	 * @return The details of the paper, without any rows if the page does not contain any
+	 */
+	static ACLPaperDetails parse(Document doc) {
+		Map<String,String> rows = new LinkedHashMap<>();
+		Elements list = doc.select(".dl-horizontal");
+
+		if(!list.isEmpty()) {
+			Elements data = list.get(0).children(); //alternating key and value
+
+			for(int i = 0; i + 1 < data.size(); i++) {
+				Element key = data.get(i);
+
+				if(key.tagName().equals("dt")) {
+					rows.putIfAbsent(key.text().trim(), data.get(i + 1).text());
+					i++; //skip the value
+				}
+			}
+		}
+
+		return new ACLPaperDetails(rows);
+	}
+
+	/**
+	 * Gets the value of the first row whose key starts with the given text
+	 * @param keyStart The start of the row's key, e.g. "Venue"
+	 * @return The value of the row, null if there is no such row
+	 */
+	String get(String keyStart) {
+		for(Map.Entry<String,String> row : rows.entrySet()) {
+			if(row.getKey().startsWith(keyStart))
+				return row.getValue();
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return The venue(s) the paper was published in, null if unknown
+	 */
+	String getVenue() {
+		return get("Venue");
+	}
+
+	/**
+	 * Gets the release year + month of the paper. If no month is given, january is assumed
+	 * @return The paper's release date, null if the year is unknown
+	 */
+	LocalDate getReleaseDate() {
+		String year = get("Year");
+		String month = get("Month");
+		int monthIndex = -1;
+
+		if(year == null || year.length() < 4)
+			return null;
+
+		if(month != null) {
+			if(month.contains("-")) //some papers have a release month of e.g. "October-November", assume the first month as the release month
+				month = month.split("-")[0];
+
+			monthIndex = CrawlerToolset.getMonthIndex(month.trim());
+		}
+
+		if(monthIndex == -1)
+			monthIndex = 1; //resort to january if no month is found
+
+		try {
+			return LocalDate.of(Integer.parseInt(year.substring(0, 4)), monthIndex, 1); //hope that every year is given in 1234 format
+		}
+		catch(NumberFormatException e) {
+			return null;
+		}
+	}
+}
@@ -5,13 +5,18 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -20,6 +25,8 @@ import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.JsoupHelper;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PaperJPAAccess;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PersonJPAAccess;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Conference;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Event;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.EventCategory;
@@ -42,15 +49,19 @@ class ACLWebCrawler extends AbstractCrawler {
 	private String schedulePage = "https://acl2018.org/programme/schedule/";
 	private String aboutPage = "https://acl2018.org/";
 	private String[] conferences;
-	private Map<String,Paper> papers = new HashMap<>(); //title, corresponding paper
-	private List<Paper> createdPapers = new ArrayList<>();
-	private List<Person> createdPersons = new ArrayList<>();
+	private Map<String,Paper> papers = new ConcurrentHashMap<>(); //title, corresponding paper, filled by several scraper threads
+	private IdentityIndex<Paper> knownPapers; //null until loaded, see loadKnownEntities()
+	private IdentityIndex<Person> knownPersons;
+	private final Object relationLock = new Object(); //papers and persons are shared between scraper threads, their relations are only changed while holding this
 
 	//If this is set true: Before any new paper or person is created, it is checked whether a paper/person
-	//with the same title/name already exists in the DB. If a match is found, reuse the paper/person from the DB
-	//To prevent interferences between threads, parallelization is disabled
-	//This decelerates the parsing process significantly and may be quite unstable. Use with caution
-	private boolean runWithDuplicateAvoidance = false;
+	//with the same title/name was already created or exists in the DB. If a match is found, it is reused
+	//All papers and persons of the DB are loaded once before crawling, so the checks don't need to access the DB
+	private boolean runWithDuplicateAvoidance = true;
+	//How many result pages are fetched at the same time
+	private int maxConcurrentFetches = 8;
+	//How many papers are scraped at the same time, each one may need its own requests
+	private int scraperThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
 
 	/**
 	 * Only parses in the given year range. If only one year is needed, use the same input for both
@@ -73,42 +84,170 @@ class ACLWebCrawler extends AbstractCrawler {
 	}
 
 	/**
-	 * Fetches the given webpage, and follows the link, which contains 'Next' as long as
-	 * there is one. The method returns a list of all visited webpages
+	 * Fetches the given webpage and all further pages of its search result and hands each of them to the given handler as soon as it arrives.
+	 * If the total amount of pages can be read from the first page, the remaining pages are fetched concurrently (at most {@link #maxConcurrentFetches} at a time),
+	 * otherwise the link which contains 'Next' is followed as long as there is one. Pages are not necessarily handed over in order.
+	 * The handler is always called from the calling thread, so it does not need to be thread safe
 	 *
 	 * Works only with a search site from aclanthology.coli.uni-saarland.de
 	 *
 	 * @param startURL the URL of the webpage, where the crawler starts
-	 * @return the list of visited webpages in form of a Jsoup document
+	 * @param pageHandler Gets called with every fetched webpage in form of a Jsoup document
 	 * @throws IOException in case the connection is faulty and / or not present
 	 */
-	private ArrayList<Document> fetchWebpages(String startURL) throws IOException {
+	private void fetchWebpages(String startURL, Consumer<Document> pageHandler) throws IOException {
 		logger.info("Fetching webpages starting from \"{}\"...", startURL);
-		ArrayList<Document> docs = new ArrayList<>();
-		docs.add(JsoupHelper.connect(startURL));
-		// find link to next page, if not found end loop
-		boolean nextSiteExist = true;
-		while (nextSiteExist) {
-			nextSiteExist = false;
-			// find the link to the next page
-			Elements links = docs.get(docs.size() - 1).select("a[href]");
-			List<String> linkTexts = links.eachText();
-			int idxOfLink = -1;
-			for (String lnktxt : linkTexts) {
-				if (lnktxt.contains("Next")) {
-					nextSiteExist = true;
-					idxOfLink = linkTexts.indexOf(lnktxt);
+		Document firstPage = JsoupHelper.connect(startURL);
+
+		if(firstPage == null) { //JsoupHelper already logged the error
+			logger.info("Done fetching webpages!");
+			return;
+		}
+
+		int pageCount = getPageCount(firstPage);
+
+		if(pageCount < 0)
+			followNextLinks(firstPage, pageHandler);
+		else
+			fetchPagesConcurrently(startURL, firstPage, pageCount, pageHandler);
+
+		logger.info("Done fetching webpages!");
+	}
+
+	/**
+	 * Hands the given webpage to the handler, then follows the link which contains 'Next' as long as there is one.
+	 * Used if the amount of pages is not known beforehand (e.g. for the author facet pages)
+	 *
+	 * @param firstPage The already fetched first webpage
+	 * @param pageHandler Gets called with every fetched webpage
+	 */
+	private void followNextLinks(Document firstPage, Consumer<Document> pageHandler) {
+		Document currentPage = firstPage;
+
+		while(currentPage != null) {
+			// find the link to the next page before handing the page over
+			Elements links = currentPage.select("a[href]");
+			String nextURL = null;
+
+			for(Element link : links) {
+				if(link.text().contains("Next")) {
+					nextURL = link.absUrl("href");
 					break;
 				}
 			}
-			// add next page to doc list
-			if (nextSiteExist) {
-				Document nxtDoc = JsoupHelper.connect(links.get(idxOfLink).absUrl("href"));
-				docs.add(nxtDoc);
+
+			pageHandler.accept(currentPage);
+			currentPage = nextURL == null ? null : JsoupHelper.connect(nextURL);
+		}
+	}
+
+	/**
+	 * Fetches the pages 2 through pageCount of the given search concurrently. Only as many pages as there are fetch threads are in flight at once,
+	 * so pages which have not been handled yet don't pile up in memory
+	 *
+	 * @param startURL The URL of the first page of the search
+	 * @param firstPage The already fetched first webpage
+	 * @param pageCount The total amount of pages of the search
+	 * @param pageHandler Gets called with every fetched webpage
+	 */
+	private void fetchPagesConcurrently(String startURL, Document firstPage, int pageCount, Consumer<Document> pageHandler) {
+		int threads = Math.max(1, Math.min(maxConcurrentFetches, pageCount - 1));
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CompletionService<Document> completionService = new ExecutorCompletionService<>(executor);
+		int nextPage = 2;
+		int pending = 0;
+
+		logger.info("Fetching {} pages with {} threads...", pageCount, threads);
+
+		//start fetching before the first page is handled, so the connections are not idle in the meantime
+		for(; nextPage <= pageCount && pending < threads; nextPage++, pending++) {
+			String url = getPageURL(startURL, nextPage);
+
+			completionService.submit(() -> JsoupHelper.connect(url));
+		}
+
+		pageHandler.accept(firstPage);
+
+		try {
+			while(pending > 0) {
+				Document doc = completionService.take().get(); //blocks until the next page is available, no matter which one
+				pending--;
+
+				//a slot got free, so queue the next page
+				if(nextPage <= pageCount) {
+					String url = getPageURL(startURL, nextPage++);
+
+					completionService.submit(() -> JsoupHelper.connect(url));
+					pending++;
+				}
+
+				if(doc != null) //JsoupHelper already logged the error
+					pageHandler.accept(doc);
 			}
 		}
-		logger.info("Done fetching webpages!");
-		return docs;
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt(); //the caller stops waiting as well
+			logger.warn("Interrupted while fetching webpages");
+		}
+		catch(ExecutionException e) {
+			logger.error("Error while fetching webpages!", e);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Reads the total amount of pages of a search from its first page. The search result contains a line like "1 - 100 of 1,234"
+	 *
+	 * @param firstPage The first page of a search on aclanthology.coli.uni-saarland.de
+	 * @return The amount of pages of this search, -1 if it can not be determined
+	 */
+	static int getPageCount(Document firstPage) {
+		Elements numbers = firstPage.select(".page_entries strong");
+
+		try {
+			switch(numbers.size()) {
+				case 1: //only "x entries found", so everything fits on one page
+					return 1;
+				case 3: //"first - last of total"
+					int first = parseEntryNumber(numbers.get(0).text());
+					int last = parseEntryNumber(numbers.get(1).text());
+					int total = parseEntryNumber(numbers.get(2).text());
+					int perPage = last - first + 1;
+
+					if(perPage <= 0)
+						return -1;
+
+					return (int)Math.ceil((double)total / perPage);
+				default:
+					return -1;
+			}
+		}
+		catch(NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Parses a number as shown on the search page, where thousands may be separated by a comma or a dot
+	 *
+	 * @param number The number as text
+	 * @return The parsed number
+	 */
+	private static int parseEntryNumber(String number) {
+		return Integer.parseInt(number.replaceAll("[^0-9]", ""));
+	}
+
+	/**
+	 * Builds the URL of the given page of a search
+	 *
+	 * @param startURL The URL of the first page of the search
+	 * @param page The page to get, starting at 1
+	 * @return The URL of the given page
+	 */
+	static String getPageURL(String startURL, int page) {
+		return startURL + "&page=" + page;
 	}
 
 	/**
@@ -117,33 +256,30 @@ class ACLWebCrawler extends AbstractCrawler {
 	@Override
 	public ArrayList<Person> getAuthors() throws IOException {
 		logger.info("Gathering all authors in the given year range...");
-		ArrayList<Person> persons = extractAuthors(fetchWebpages(startURLAuthors));
+		ArrayList<Person> persons = new ArrayList<>();
+
+		fetchWebpages(startURLAuthors, doc -> persons.addAll(extractAuthors(doc)));
 		logger.info("Done!");
 		return persons;
 	}
 
 	/**
-	 * Extracts all authors from a given list of webpages, which are in the ACL
+	 * Extracts all authors from a given webpage, which is in the ACL
 	 * search form (e.g. <a href="https://aclanthology.coli.uni-saarland.de/catalog/facet/author?commit=facet.page%3D1&facet.page=1">here</a>)
 	 *
-	 * @param webpages a list of webpages
+	 * @param doc a webpage
 	 * @return a list of authors with the name field set
 	 */
-	private ArrayList<Person> extractAuthors(ArrayList<Document> webpages) {
-		logger.info("Scraping author pages...");
+	private ArrayList<Person> extractAuthors(Document doc) {
 		ArrayList<Person> authors = new ArrayList<>();
-		// extract the authors from all webpages
-		for (Document doc : webpages) {
-			Elements authorListElements = doc.select("li");// authors are the only <li> elements on the Page
-			for (Element elmnt : authorListElements) {
-				Person author = runWithDuplicateAvoidance ? Person.findOrCreateDbOrList(null, elmnt.child(0).ownText(), createdPersons) : new Person();
-				if (runWithDuplicateAvoidance) { createdPersons.add(author); }
-
-				author.setFullName(elmnt.child(0).ownText());
-				authors.add(author);
-			}
+		Elements authorListElements = doc.select("li");// authors are the only <li> elements on the Page
+
+		for (Element elmnt : authorListElements) {
+			Person author = runWithDuplicateAvoidance ? getKnownPersons().findOrCreate(null, elmnt.child(0).ownText()) : new Person();
+
+			author.setFullName(elmnt.child(0).ownText());
+			authors.add(author);
 		}
-		logger.info("Done scraping!");
 		return authors;
 	}
 
@@ -153,40 +289,37 @@ class ACLWebCrawler extends AbstractCrawler {
 	@Override
 	public ArrayList<Paper> getPapers() throws IOException {
 		logger.info("Gathering all papers in the given year range...");
-		ArrayList<Paper> papers = extractPapers(fetchWebpages(startURLPaper));
+		ArrayList<Paper> papers = new ArrayList<>();
+
+		fetchWebpages(startURLPaper, doc -> papers.addAll(extractPapers(doc)));
 		logger.info("Done!");
 		return papers;
 	}
 
 	/**
-	 * Extracts all papers from a given list of webpages, which are in the ACL search
+	 * Extracts all papers from a given webpage, which is in the ACL search
 	 * form (e.g. <a href="https://aclanthology.coli.uni-saarland.de/catalog/facet/author?commit=facet.page%3D1&facet.page=1">here</a>)
 	 *
-	 * @param webpages a list of webpages
+	 * @param doc a webpage
 	 * @return a list of papers
 	 */
-	private ArrayList<Paper> extractPapers(ArrayList<Document> webpages) {
-		logger.info("Scraping paper pages...");
+	private ArrayList<Paper> extractPapers(Document doc) {
 		ArrayList<Paper> paperList = new ArrayList<>();
-		// extract the authors from all webpages
-		for (Document doc : webpages) {
-			//if no conferences were given, let the papers through. else see if the conference of the paper is given in the launch arg
-			Elements paperListElements = doc.select("h5.index_title");// papers are all <h5 class = "index_title">
-			innerLoop: for (Element elmnt : paperListElements) {
-				if (!elmnt.text().contains("VOLUME")) {// VOLUMES/Overview-Pdfs are also part of the search-result and removed here
-					//check is not earlier because the elmnt is needed
-					if(conferences.length != 0 && !shouldSavePaper(elmnt))
-						continue innerLoop; //label is not needed necessarily, but helps readability
-
-					Paper paper = runWithDuplicateAvoidance ? Paper.findOrCreateDbOrList(null, elmnt.text(), createdPapers) : new Paper();;
-					if ( runWithDuplicateAvoidance ) { createdPapers.add( paper ); }
-
-					paper.setTitle(elmnt.text());
-					paperList.add(paper);
-				}
+		//if no conferences were given, let the papers through. else see if the conference of the paper is given in the launch arg
+		Elements paperListElements = doc.select("h5.index_title");// papers are all <h5 class = "index_title">
+
+		innerLoop: for (Element elmnt : paperListElements) {
+			if (!elmnt.text().contains("VOLUME")) {// VOLUMES/Overview-Pdfs are also part of the search-result and removed here
+				//check is not earlier because the elmnt is needed
+				if(conferences.length != 0 && !shouldSavePaper(ACLPaperDetails.fetch(getDetailURL(elmnt))))
+					continue innerLoop; //label is not needed necessarily, but helps readability
+
+				Paper paper = runWithDuplicateAvoidance ? getKnownPapers().findOrCreate(null, elmnt.text()) : new Paper();
+
+				paper.setTitle(elmnt.text());
+				paperList.add(paper);
 			}
 		}
-		logger.info("Done scraping!");
 		return paperList;
 	}
 
@@ -196,172 +329,166 @@ class ACLWebCrawler extends AbstractCrawler {
 	@Override
 	public ArrayList<Paper> getPaperAuthor() throws IOException {
 		logger.info("Gathering all paper author relationships...");
-		List<Document> webpages = fetchWebpages(startURLPaper);
-		logger.info("Preparing data and starting 4 scraper threads...");
-		//in the following lines the list gets split into 4 roughly equal parts so that each list part can be handled in a seperate thread (it's faster this way)
-		int quarterSize = (int)Math.ceil(webpages.size() / 4);
-		List<Document> input1 = webpages.subList(0, quarterSize);
-		List<Document> input2 = webpages.subList(quarterSize, quarterSize * 2);
-		List<Document> input3 = webpages.subList(quarterSize * 2, quarterSize * 3);
-		List<Document> input4 = webpages.subList(quarterSize * 3, webpages.size());
+		int parallelism = scraperThreads;
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		List<ForkJoinTask<Paper>> tasks = new ArrayList<>();
 		ArrayList<Paper> result = new ArrayList<>();
 
-		//If duplicate avoidance is enabled, do not use threading, as the separate threads would interfere each other
-		if ( runWithDuplicateAvoidance ) {
-			try {
-				result.addAll(extractPaperAuthor(input1));
-				logger.info("Finished 1 / 4");
-				result.addAll(extractPaperAuthor(input2));
-				logger.info("Finished 2 / 4");
-				result.addAll(extractPaperAuthor(input3));
-				logger.info("Finished 3 / 4");
-				result.addAll(extractPaperAuthor(input4));
-				logger.info("Finished 4 / 4");
-			} catch (Exception e) { //thread exceptions
-				logger.error("Error while gathering results!", e);
-			}
-			return result;
-		}
+		try {
+			if(runWithDuplicateAvoidance) //load on this thread, the scraper threads can't use its EntityManager
+				loadKnownEntities();
+
+			logger.info("Starting {} scraper threads...", parallelism);
+			//every paper is its own task, so idle threads steal work from busy ones instead of waiting on a fixed share of the pages
+			//only plain strings are handed to the tasks, so the page itself can be freed right away and is never shared between threads
+			fetchWebpages(startURLPaper, doc -> {
+				for (Element elmnt : doc.select("h5.index_title")) {
+					if (!elmnt.text().contains("VOLUME")) {// VOLUMES/Overview-Pdfs are also part of the search-result and removed here
+						String rawTitle = elmnt.text();
+						String detailURL = getDetailURL(elmnt);
+						List<String> authorNames = elmnt.parent().parent().children().select("span").select("a").eachText();
+
+						tasks.add(pool.submit(() -> extractPaperAuthor(rawTitle, detailURL, authorNames)));
+					}
+				}
+			});
+			logger.info("Waiting for {} scraper tasks...", tasks.size());
 
-		//setup and start those threads
-		ExecutorService executor = Executors.newFixedThreadPool(4);
-		Future<ArrayList<Paper>> f1 = executor.submit(() -> extractPaperAuthor(input1));
-		Future<ArrayList<Paper>> f2 = executor.submit(() -> extractPaperAuthor(input2));
-		Future<ArrayList<Paper>> f3 = executor.submit(() -> extractPaperAuthor(input3));
-		Future<ArrayList<Paper>> f4 = executor.submit(() -> extractPaperAuthor(input4));
-		logger.info("Waiting for thread results...");
+			//wait for the task results in submission order and add all of those to the result list (.get() is blocking)
+			for (ForkJoinTask<Paper> task : tasks) {
+				try {
+					Paper paper = task.get();
 
-		//wait for the thread results and add all of those to the result list (.get() is blocking)
-		try {
-			result.addAll(f1.get());
-			result.addAll(f2.get());
-			result.addAll(f3.get());
-			result.addAll(f4.get());
-			logger.info("Done gathering all paper and author results!");
+					if (paper != null) //null if the paper was filtered out
+						result.add(paper);
+				}
+				catch(InterruptedException e) { //stop waiting, the remaining tasks are cancelled below
+					Thread.currentThread().interrupt();
+					logger.warn("Interrupted while gathering results, returning the {} papers gathered so far", result.size());
+					break;
+				}
+				catch(ExecutionException e) { //thread exceptions, only this paper is lost
+					logger.error("Error while gathering results!", e);
+				}
+			}
 		}
-		catch(Exception e) { //thread exceptions
-			logger.error("Error while gathering results!", e);
+		finally {
+			pool.shutdownNow(); //all tasks are done unless something failed, then the rest is not needed anymore
 		}
 
-		executor.shutdown();
+		logger.info("Done gathering all paper and author results!");
 		return result;
 	}
 
 	/**
-	 * Extracts all papers and authors from a given list of webpages, which are in
-	 * the ACL search form (e.g. <a href="https://aclanthology.coli.uni-saarland.de/catalog/facet/author?commit=facet.page%3D1&facet.page=1">here</a>)
+	 * Creates a paper including its authors from the data of one entry of the ACL search
+	 * form (e.g. <a href="https://aclanthology.coli.uni-saarland.de/catalog/facet/author?commit=facet.page%3D1&facet.page=1">here</a>)
 	 *
-	 * @param webpages a list of webpages
-	 * @return a list of papers
+	 * @param rawTitle The title as shown in the search, e.g. "[C18-1017] Simple Neologism Based Domain Independe..."
+	 * @param detailURL The URL of the paper's detail page
+	 * @param authorNames The names of the paper's authors
+	 * @return The paper, null if it should not be saved
 	 */
-	private ArrayList<Paper> extractPaperAuthor(List<Document> webpages) {
-		logger.info("Scraping webpages for paper author relationships...");
-		ArrayList<Paper> paperList = new ArrayList<>();
-		for (Document doc : webpages) {
-			Elements paperListElements = doc.select("h5.index_title");
-			innerLoop: for (Element elmnt : paperListElements) {
-				if (!elmnt.text().contains("VOLUME")) {
-					//check is not earlier because the elmnt is needed
-					if(conferences.length != 0 && !shouldSavePaper(elmnt))
-						continue innerLoop; //label is not needed necessarily, but helps readability
-
-					// add paper info
-					// clean up the titles in the form of [C18-1017] Simple Neologism Based Domain Independe...
-					// C18-1017 would be the anthology - we remove [] because they convey no meaning
-					String rawTitle = elmnt.text();
-					String[] splitRawTitle = rawTitle.split(" ", 2);
-					String paperTitle = splitRawTitle[1];
-					String anthology = splitRawTitle[0].replace("[", "").replace("]", "");
-
-					Paper paper = runWithDuplicateAvoidance ? Paper.findOrCreateDbOrList(null, paperTitle, createdPapers) : new Paper();
-					if ( runWithDuplicateAvoidance ) { createdPapers.add(paper); }
-					paper.setTitle(paperTitle);
-					paper.setAnthology(anthology);
-					paper.setRemoteLink("http://aclweb.org/anthology/" + anthology); //wow that was easy
-					paper.setReleaseDate(extractPaperRelease(elmnt));
-
-					// find authors and add them to a list
-					Elements authorElements = elmnt.parent().parent().children().select("span").select("a");
-					for (Element authorEl : authorElements) {
-						Person author = runWithDuplicateAvoidance ? Person.findOrCreateDbOrList(null, authorEl.text(), createdPersons) : new Person();
-						if (runWithDuplicateAvoidance) { createdPersons.add(author); }
-
-						// because acl2018 seems to not employ prefixes (e.g. Prof. Dr.), we do not need to scan them
-						author.setFullName(authorEl.text());
-						// set paper - author relation
-						paper.addAuthor(author);
-						// set author - paper relation
-						author.addPaper(paper);
-					}
-					paperList.add(paper);
-					papers.put(paper.getTitle(), paper);
-				}
+	private Paper extractPaperAuthor(String rawTitle, String detailURL, List<String> authorNames) {
+		//the detail page is fetched once and used both for filtering and for the release date
+		ACLPaperDetails details = ACLPaperDetails.fetch(detailURL);
+
+		if(conferences.length != 0 && !shouldSavePaper(details))
+			return null;
+
+		// add paper info
+		// clean up the titles in the form of [C18-1017] Simple Neologism Based Domain Independe...
+		// C18-1017 would be the anthology - we remove [] because they convey no meaning
+		String[] splitRawTitle = rawTitle.split(" ", 2);
+		String paperTitle = splitRawTitle[1];
+		String anthology = splitRawTitle[0].replace("[", "").replace("]", "");
+
+		Paper paper = runWithDuplicateAvoidance ? getKnownPapers().findOrCreate(null, paperTitle) : new Paper();
+
+		synchronized(relationLock) { //the same paper or author may be handled by other threads at the same time
+			paper.setTitle(paperTitle);
+			paper.setAnthology(anthology);
+			paper.setRemoteLink("http://aclweb.org/anthology/" + anthology); //wow that was easy
+			paper.setReleaseDate(details.getReleaseDate());
+
+			// add the authors
+			for (String authorName : authorNames) {
+				Person author = runWithDuplicateAvoidance ? getKnownPersons().findOrCreate(null, authorName) : new Person();
+
+				// because acl2018 seems to not employ prefixes (e.g. Prof. Dr.), we do not need to scan them
+				author.setFullName(authorName);
+				// set paper - author relation
+				paper.addAuthor(author);
+				// set author - paper relation
+				author.addPaper(paper);
 			}
 		}
-		logger.info("Done scraping!");
-		return paperList;
+		papers.put(paper.getTitle(), paper);
+		return paper;
 	}
 
 	/**
-	 * Checks with the given {@link conferences} whether or not to save this paper into the database
-	 * @param paper The web element of the paper to check
-	 * @return true if the paper should be saved into the database
+	 * Loads all papers and persons of the database into the indexes used for duplicate avoidance, unless that happened already.
+	 * Both are loaded on the calling thread together with their relationship, so they can be changed and saved again later
 	 */
-	private boolean shouldSavePaper(Element paper) {
-		Document doc = JsoupHelper.connect("https://aclanthology.coli.uni-saarland.de" + paper.select("a").attr("href"));
-		ArrayList<Element> data = doc.select(".dl-horizontal").get(0).children(); //somewhere in those children is the venue with which to filter
-
-		//find it
-		for(int i = 0; i < data.size(); i++) {
-			if(data.get(i).text().startsWith("Venue")) { //the next line contains the venue
-				String text = data.get(i + 1).text();
-				boolean contains = false;
-
-				//needed because some papers are published in multiple conferences
-				innerLoop: for(String c : conferences) {
-					if(text.contains(c)) {
-						contains = true;
-						break innerLoop; //no further processing needed
-					}
-				}
-
-				return contains;
-			}
-		}
+	private synchronized void loadKnownEntities() {
+		if(knownPapers != null)
+			return;
+
+		IdentityIndex<Paper> paperIndex = IdentityIndex.ofPapers();
+		IdentityIndex<Person> personIndex = IdentityIndex.ofPersons();
+
+		logger.info("Loading known papers and persons for duplicate avoidance...");
+		paperIndex.addAll(new PaperJPAAccess().getAllWithAuthors());
+		personIndex.addAll(new PersonJPAAccess().getAllWithPapers());
+		knownPersons = personIndex;
+		knownPapers = paperIndex;
+		logger.info("Loaded {} papers and {} persons", paperIndex.size(), personIndex.size());
+	}
 
-		return false;
+	/**
+	 * @return The index of all known papers, loaded from the database on first use
+	 */
+	private IdentityIndex<Paper> getKnownPapers() {
+		loadKnownEntities();
+		return knownPapers;
 	}
 
 	/**
-	 * Extracts the release year + month of the given paper web element
-	 * @param paper The web element of the paper to get the release year+month of
-	 * @return The paper's release date, null if errored
+	 * @return The index of all known persons, loaded from the database on first use
 	 */
-	private LocalDate extractPaperRelease(Element paper) {
-		Document doc = JsoupHelper.connect("https://aclanthology.coli.uni-saarland.de" + paper.select("a").attr("href"));
-		ArrayList<Element> data = doc.select(".dl-horizontal").get(0).children(); //somewhere in those children is the date
-		String year = "0";
-		String month = "0";
+	private IdentityIndex<Person> getKnownPersons() {
+		loadKnownEntities();
+		return knownPersons;
+	}
 
-		//find the different parts of the date
-		for(int i = 0; i < data.size(); i++) {
-			if(data.get(i).text().startsWith("Month")) { //the line contains the month
-				month = data.get(i + 1).text();
+	/**
+	 * Builds the URL of the detail page of a paper
+	 * @param paper The web element of the paper as found in the search
+	 * @return The URL of the paper's detail page
+	 */
+	private String getDetailURL(Element paper) {
+		return "https://aclanthology.coli.uni-saarland.de" + paper.select("a").attr("href");
+	}
 
-				if(month.contains("-")) //some papers have a release month of e.g. "October-November", assume the first month as the release month
-					month = month.split("-")[0];
+	/**
+	 * Checks with the given {@link conferences} whether or not to save this paper into the database
+	 * @param details The details of the paper to check
+	 * @return true if the paper should be saved into the database
+	 */
+	private boolean shouldSavePaper(ACLPaperDetails details) {
+		String venue = details.getVenue();
 
-				month = "" + CrawlerToolset.getMonthIndex(month);
+		if(venue == null)
+			return false;
 
-				if(month.equals("-1"))
-					month = "1"; //resort to january if no month is found
-			}
-			else if(data.get(i).text().startsWith("Year")) { //the line contains the year
-				year = data.get(i + 1).text().substring(0, 4); //hope that every year is given in 1234 format
-			}
+		//needed because some papers are published in multiple conferences
+		for(String c : conferences) {
+			if(venue.contains(c))
+				return true;
 		}
 
-		return LocalDate.of(Integer.parseInt(year), Integer.parseInt(month), 1);
+		return false;
 	}
 
 	/**
@@ -635,8 +762,34 @@ class ACLWebCrawler extends AbstractCrawler {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setMaxConcurrentFetches(int maxConcurrentFetches) {
+		this.maxConcurrentFetches = Math.max(1, maxConcurrentFetches);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setScraperThreads(int scraperThreads) {
+		this.scraperThreads = Math.max(1, scraperThreads);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setDuplicateAvoidance(boolean duplicateAvoidance) {
+		runWithDuplicateAvoidance = duplicateAvoidance;
+	}
+
 	@Override
 	public void close() {
 		papers.clear();
+		knownPapers = null;
+		knownPersons = null;
 	}
 }
\ No newline at end of file
@@ -56,6 +56,24 @@ abstract class AbstractCrawler {
 	 */
 	public abstract ArrayList<ScheduleEntry> getSchedule() throws IOException;
 
+	/**
+	 * Sets how many webpages the crawler may fetch at the same time
+	 * @param maxConcurrentFetches The maximum amount of concurrent page fetches, values below 1 are treated as 1
+	 */
+	public abstract void setMaxConcurrentFetches(int maxConcurrentFetches);
+
+	/**
+	 * Sets how many threads the crawler may use to scrape papers, which usually means how many detail pages are requested at the same time
+	 * @param scraperThreads The parallelism level of the scraper, values below 1 are treated as 1
+	 */
+	public abstract void setScraperThreads(int scraperThreads);
+
+	/**
+	 * Sets whether papers and persons that were already crawled or exist in the database are reused instead of creating duplicates
+	 * @param duplicateAvoidance true to reuse known papers and persons
+	 */
+	public abstract void setDuplicateAvoidance(boolean duplicateAvoidance);
+
 	/**
 	 * Can be used to remove any unneeded data after the crawler is done
 	 */
@@ -74,6 +74,30 @@ public class CrawlerFacade extends AbstractCrawler{
 		return crawler.getSchedule();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setMaxConcurrentFetches(int maxConcurrentFetches) {
+		crawler.setMaxConcurrentFetches(maxConcurrentFetches);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setScraperThreads(int scraperThreads) {
+		crawler.setScraperThreads(scraperThreads);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setDuplicateAvoidance(boolean duplicateAvoidance) {
+		crawler.setDuplicateAvoidance(duplicateAvoidance);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
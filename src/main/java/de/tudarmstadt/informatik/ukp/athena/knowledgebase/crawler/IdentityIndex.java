@@ -0,0 +1,142 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Model;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Paper;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
+
+/**
+ * Finds papers or persons the crawler already knows by their Semantic Scholar ID or their normalized title/name in constant time,
+ * so the same paper or person is only created once. It is filled with the entities of the database once before crawling and with every
+ * entity the crawler creates. Thread-safe, so all scraper threads can share it
+ * @param <T> The model class, {@link Paper} or {@link Person}
+ */
+class IdentityIndex<T extends Model> {
+	private final Map<String,T> byName = new ConcurrentHashMap<>();
+	private final Map<String,T> bySemanticScholarID = new ConcurrentHashMap<>();
+	private final Function<T,String> nameGetter;
+	private final BiConsumer<T,String> nameSetter;
+	private final Function<T,String> semanticScholarIDGetter;
+	private final BiConsumer<T,String> semanticScholarIDSetter;
+	private final Supplier<T> constructor;
+
+	/**
+	 * @param nameGetter Gets the title/name of an entity
+	 * @param nameSetter Sets the title/name of a new entity
+	 * @param semanticScholarIDGetter Gets the Semantic Scholar ID of an entity
+	 * @param semanticScholarIDSetter Sets the Semantic Scholar ID of a new entity
+	 * @param constructor Creates a new entity
+	 */
+	private IdentityIndex(Function<T,String> nameGetter, BiConsumer<T,String> nameSetter, Function<T,String> semanticScholarIDGetter, BiConsumer<T,String> semanticScholarIDSetter, Supplier<T> constructor) {
+		this.nameGetter = nameGetter;
+		this.nameSetter = nameSetter;
+		this.semanticScholarIDGetter = semanticScholarIDGetter;
+		this.semanticScholarIDSetter = semanticScholarIDSetter;
+		this.constructor = constructor;
+	}
+
+	/**
+	 * @return An empty index of papers, which identifies them by their title
+	 */
+	static IdentityIndex<Paper> ofPapers() {
+		return new IdentityIndex<>(Paper::getTitle, Paper::setTitle, Paper::getSemanticScholarID, Paper::setSemanticScholarID, Paper::new);
+	}
+
+	/**
+	 * @return An empty index of persons, which identifies them by their full name
+	 */
+	static IdentityIndex<Person> ofPersons() {
+		return new IdentityIndex<>(Person::getFullName, Person::setFullName, Person::getSemanticScholarID, Person::setSemanticScholarID, Person::new);
+	}
+
+	/**
+	 * Adds already existing entities, e.g. the ones from the database. If several entities have the same title/name or Semantic Scholar ID, the first one is kept
+	 * @param entities The entities to add
+	 */
+	void addAll(Collection<T> entities) {
+		for(T entity : entities) {
+			add(entity);
+		}
+	}
+
+	/**
+	 * Adds an already existing entity. If another entity has the same title/name or Semantic Scholar ID, that one is kept
+	 * @param entity The entity to add
+	 */
+	void add(T entity) {
+		String name = nameGetter.apply(entity);
+		String semanticScholarID = semanticScholarIDGetter.apply(entity);
+
+		if(name != null)
+			byName.putIfAbsent(normalize(name), entity);
+
+		if(semanticScholarID != null)
+			bySemanticScholarID.putIfAbsent(semanticScholarID, entity);
+	}
+
+	/**
+	 * Finds the entity with the given Semantic Scholar ID, or if there is none the one with the given title/name.
+	 * If neither is known, a new entity with the given values is created and added to the index. Threads asking for the same
+	 * title/name at the same time get the same entity
+	 * @param semanticScholarID The Semantic Scholar ID of the entity, null if unknown
+	 * @param name The title/name of the entity, null if unknown
+	 * @return The known or new entity
+	 */
+	T findOrCreate(String semanticScholarID, String name) {
+		T entity = semanticScholarID == null ? null : bySemanticScholarID.get(semanticScholarID);
+
+		if(entity != null)
+			return entity;
+
+		if(name == null)
+			entity = create(semanticScholarID, null);
+		else
+			entity = byName.computeIfAbsent(normalize(name), key -> create(semanticScholarID, name));
+
+		if(semanticScholarID != null) {
+			T known = bySemanticScholarID.putIfAbsent(semanticScholarID, entity);
+
+			if(known != null) //another thread was faster
+				return known;
+		}
+
+		return entity;
+	}
+
+	/**
+	 * @return How many different titles/names are known
+	 */
+	int size() {
+		return byName.size();
+	}
+
+	/**
+	 * Creates a new entity
+	 * @param semanticScholarID The Semantic Scholar ID to set, may be null
+	 * @param name The title/name to set, may be null
+	 * @return The new entity
+	 */
+	private T create(String semanticScholarID, String name) {
+		T entity = constructor.get();
+
+		nameSetter.accept(entity, name);
+		semanticScholarIDSetter.accept(entity, semanticScholarID);
+		return entity;
+	}
+
+	/**
+	 * Normalizes a title/name, so differences in case and whitespace don't matter (like in the database, which compares case-insensitively)
+	 * @param name The title/name, non-null
+	 * @return The normalized title/name
+	 */
+	static String normalize(String name) {
+		return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+	}
+}
@@ -2,9 +2,13 @@ package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticschol
 
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -24,6 +28,16 @@ import de.tudarmstadt.informatik.ukp.athena.knowledgebase.exception.NotAvailable
  */
 public class S2APIFunctions {
 	private static Logger logger = LogManager.getLogger(S2APIFunctions.class);
+	/**
+	 * Remembers the Semantic Scholar IDs of the co-authors that were looked up by name, shared by all threads.
+	 * Bounded and refreshed hourly, as the API keeps running and enhancing for much longer than one crawl
+	 */
+	private static final S2IDResolver coAuthorIDs = new S2IDResolver(name -> {
+		Person author = new Person();
+
+		author.setFullName(name);
+		return getAuthorsS2ID(author);
+	}, 100000, Duration.ofHours(1));
 
 
 	/**
@@ -374,11 +388,19 @@ public class S2APIFunctions {
 			dest.setAuthors(new HashSet<>());   //If overwrite is set, reset the authors
 		}
 
-		//1. Fetch S2ID for all currently connected Authors to minimize duplicates
+		//1. Fetch S2ID for all currently connected Authors to minimize duplicates, each name is only looked up once per run
+		Set<String> unknownIDs = new LinkedHashSet<>();
 		for( Person a : dest.getAuthors() ) {
-			if( a.getSemanticScholarID() != null && a.getSemanticScholarID() != "") { continue; }   //Skip retrieving already known S2IDs
-			try { a.setSemanticScholarID(getAuthorsS2ID(a)); }
-			catch( IOException | JSONException e ) {}
+			if( a.getSemanticScholarID() != null && !a.getSemanticScholarID().isEmpty()) { continue; }   //Skip retrieving already known S2IDs
+			if( a.getFullName() != null ) { unknownIDs.add(a.getFullName()); }
+		}
+		if( !unknownIDs.isEmpty() ) {
+			Map<String,String> foundIDs = coAuthorIDs.resolveAll(unknownIDs);
+			for( Person a : dest.getAuthors() ) {
+				if( (a.getSemanticScholarID() == null || a.getSemanticScholarID().isEmpty()) && foundIDs.containsKey(a.getFullName()) ) {
+					a.setSemanticScholarID(foundIDs.get(a.getFullName()));
+				}
+			}
 		}
 
 		//Add authors
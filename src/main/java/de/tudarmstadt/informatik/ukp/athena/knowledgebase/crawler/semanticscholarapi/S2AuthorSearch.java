@@ -1,7 +1,6 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi;
 
 import java.io.IOException;
-import java.net.URL;
 
 import javax.net.ssl.HttpsURLConnection;
 
@@ -165,12 +164,7 @@ public class S2AuthorSearch extends SemanticScholarAPIRequest {
 		String href = semanticScholarInternalApiUrl + "/author/" + this.s2id;
 
 		//Create connection and set basic parameters
-		URL url = new URL(href);
-		HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
-		connection.setDoOutput(true);
-		connection.setInstanceFollowRedirects(false);
-		connection.setConnectTimeout(30 * 1000);        //30s
-		connection.setUseCaches(false);                 //Don't cache anything
+		HttpsURLConnection connection = openConnection(href);
 
 		//Set connection headers
 		connection.setRequestMethod("GET");
@@ -180,15 +174,9 @@ public class S2AuthorSearch extends SemanticScholarAPIRequest {
 		connection.setRequestProperty("Accept", "*/*");
 		connection.setRequestProperty("cache-control", "no-cache,no-store,must-revalidate,max-age=-1");
 		connection.setRequestProperty("content-type", "application/json");
-		connection.setRequestProperty("User-Agent", userAgentString);
 
-		//Write search payload to server (BODY of POST request)
-		writeStringToServer(searchPayload, connection);
-
-		//Convert received JSON to String
-		this.rawResponse = readResponseInputStreamToString(connection);
-		this.httpResponseCode = Integer.toString(connection.getResponseCode());
-		this.validDataIsReady = true;
+		//Write search payload to server (BODY of POST request) and convert received JSON to String
+		send(connection, searchPayload);
 	}
 
 	/**
@@ -1,7 +1,6 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi;
 
 import java.io.IOException;
-import java.net.URL;
 
 import javax.net.ssl.HttpsURLConnection;
 
@@ -46,12 +45,7 @@ public class S2GeneralSearch extends SemanticScholarAPIRequest {
 		String href = semanticScholarInternalApiUrl + "/search";
 
 		//Create connection and set basic parameters
-		URL url = new URL(href);
-		HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
-		connection.setDoOutput(true);
-		connection.setInstanceFollowRedirects(false);
-		connection.setConnectTimeout(30 * 1000);        //30s
-		connection.setUseCaches(false);                 //Don't cache anything
+		HttpsURLConnection connection = openConnection(href);
 
 		//Set connection headers
 		connection.setRequestMethod("POST");
@@ -63,16 +57,9 @@ public class S2GeneralSearch extends SemanticScholarAPIRequest {
 		connection.setRequestProperty("content-type", "application/json");
 		connection.setRequestProperty("authority", "www.semanticscholar.org");
 		connection.setRequestProperty("dnt", "1");
-		connection.setRequestProperty("User-Agent", userAgentString);
 
-		//Write search payload to server (BODY of POST request)
-		writeStringToServer(searchPayload, connection);
-
-		//Convert received JSON to String
-		this.rawResponse = readResponseInputStreamToString(connection);
-
-		this.httpResponseCode = Integer.toString(connection.getResponseCode());
-		this.validDataIsReady = true;
+		//Write search payload to server (BODY of POST request) and convert received JSON to String
+		send(connection, searchPayload);
 	}
 
 	/**
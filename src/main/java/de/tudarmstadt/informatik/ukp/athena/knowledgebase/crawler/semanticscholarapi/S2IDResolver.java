@@ -0,0 +1,195 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.json.JSONException;
+
+/**
+ * Resolves the names of authors to their Semantic Scholar IDs, looking up every name only once.
+ * The answer is remembered, so the same co-author appearing on many papers costs a single request. If several threads ask for
+ * the same name at the same time, only the first one sends a request and the others wait for its answer.
+ * Names that Semantic Scholar does not know are remembered as well, failed requests are not, so they are tried again the next time.
+ * Answers are looked up again after the time to live, so names that become known to Semantic Scholar are picked up. Once more names than
+ * the maximum size are remembered, all answered ones are forgotten
+ */
+class S2IDResolver {
+	private final Map<String,Entry> resolved = new ConcurrentHashMap<>();
+	private final Lookup lookup;
+	private final int maxSize;
+	private final long timeToLive;
+
+	/**
+	 * @param lookup Finds the Semantic Scholar ID of a name by asking Semantic Scholar
+	 * @param maxSize How many names to remember at most
+	 * @param timeToLive How long an answer is remembered
+	 */
+	S2IDResolver(Lookup lookup, int maxSize, Duration timeToLive) {
+		this.lookup = lookup;
+		this.maxSize = maxSize;
+		this.timeToLive = timeToLive.toMillis();
+	}
+
+	/**
+	 * Finds the Semantic Scholar ID of the given name
+	 * @param name The full name of the author, may be null
+	 * @return The Semantic Scholar ID of the most relevant author with this name, null if the name is null or unknown to Semantic Scholar
+	 * @throws IOException If the request to Semantic Scholar fails
+	 */
+	String resolve(String name) throws IOException {
+		return resolve(name, System.currentTimeMillis());
+	}
+
+	/**
+	 * Finds the Semantic Scholar ID of the given name
+	 * @param name The full name of the author, may be null
+	 * @param now The current time in milliseconds
+	 * @return The Semantic Scholar ID of the most relevant author with this name, null if the name is null or unknown to Semantic Scholar
+	 * @throws IOException If the request to Semantic Scholar fails
+	 */
+	String resolve(String name, long now) throws IOException {
+		if(name == null || name.trim().isEmpty())
+			return null;
+
+		String key = normalize(name);
+		Entry entry = new Entry(now);
+		Entry known = resolved.putIfAbsent(key, entry);
+
+		while(known != null && known.answer.isDone() && now - known.created > timeToLive) { //expired, ask again
+			resolved.remove(key, known);
+			known = resolved.putIfAbsent(key, entry);
+		}
+
+		if(known == null) { //this thread is the first to ask for the name
+			if(resolved.size() > maxSize)
+				evict();
+
+			return lookUp(key, name, entry);
+		}
+
+		try {
+			return known.answer.get();
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for the Semantic Scholar ID of " + name, e);
+		}
+		catch(ExecutionException e) { //the other thread's request failed
+			throw new IOException("Could not find the Semantic Scholar ID of " + name, e.getCause());
+		}
+	}
+
+	/**
+	 * Finds the Semantic Scholar IDs of all given names, every distinct name is only looked up once
+	 * @param names The full names of the authors
+	 * @return The Semantic Scholar ID of every name that could be resolved, names whose request failed are missing
+	 */
+	Map<String,String> resolveAll(Collection<String> names) {
+		Map<String,String> ids = new HashMap<>();
+
+		for(String name : names) {
+			try {
+				String id = resolve(name); //repeated names are answered from memory
+
+				if(id != null)
+					ids.put(name, id);
+			}
+			catch(IOException e) {} //the author is kept without an ID, like before
+		}
+
+		return ids;
+	}
+
+	/**
+	 * @return How many names are resolved or being resolved
+	 */
+	int size() {
+		return resolved.size();
+	}
+
+	/**
+	 * Forgets all resolved names
+	 */
+	void clear() {
+		resolved.clear();
+	}
+
+	/**
+	 * Forgets all answered names, names that are being resolved stay so their waiting threads still share the request
+	 */
+	private void evict() {
+		resolved.values().removeIf(entry -> entry.answer.isDone());
+	}
+
+	/**
+	 * Sends the request for a name and hands the answer to the threads waiting for it
+	 * @param key The normalized name
+	 * @param name The name as given
+	 * @param entry The entry whose answer the other threads wait on
+	 * @return The Semantic Scholar ID, null if the name is unknown
+	 * @throws IOException If the request to Semantic Scholar fails
+	 */
+	private String lookUp(String key, String name, Entry entry) throws IOException {
+		String id;
+
+		try {
+			id = lookup.find(name);
+		}
+		catch(JSONException e) { //no matching author in the response
+			id = null;
+		}
+		catch(IOException | RuntimeException e) {
+			resolved.remove(key, entry); //try again next time
+			entry.answer.completeExceptionally(e);
+			throw e;
+		}
+
+		entry.answer.complete(id);
+		return id;
+	}
+
+	/**
+	 * Normalizes a name, so differences in case and whitespace don't cause another request
+	 * @param name The name, non-null
+	 * @return The normalized name
+	 */
+	static String normalize(String name) {
+		return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * The answer for a name
+	 */
+	private static class Entry {
+		private final CompletableFuture<String> answer = new CompletableFuture<>();
+		private final long created;
+
+		/**
+		 * @param created When the name was first asked for, in milliseconds
+		 */
+		private Entry(long created) {
+			this.created = created;
+		}
+	}
+
+	/**
+	 * Asks Semantic Scholar for the ID of a name
+	 */
+	@FunctionalInterface
+	interface Lookup {
+		/**
+		 * @param name The full name of the author
+		 * @return The Semantic Scholar ID of the most relevant author with this name
+		 * @throws IOException If the request fails
+		 * @throws JSONException If Semantic Scholar does not know the name
+		 */
+		String find(String name) throws IOException, JSONException;
+	}
+}
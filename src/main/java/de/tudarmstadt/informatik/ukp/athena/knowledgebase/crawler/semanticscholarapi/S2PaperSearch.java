@@ -1,7 +1,6 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi;
 
 import java.io.IOException;
-import java.net.URL;
 
 import javax.net.ssl.HttpsURLConnection;
 
@@ -42,12 +41,7 @@ public class S2PaperSearch extends SemanticScholarAPIRequest {
 		String searchRequestURL = semanticScholarPublicApiUrl + "v1" + "/author/" + authorID;
 
 		//Create connection and set basic parameters
-		URL url = new URL(searchRequestURL);
-		HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
-		connection.setDoOutput(true);
-		connection.setInstanceFollowRedirects(false);
-		connection.setConnectTimeout(30 * 1000);        //30s
-		connection.setUseCaches(false);                 //Don't cache anything
+		HttpsURLConnection connection = openConnection(searchRequestURL);
 
 		//Set connection headers
 		connection.setRequestMethod("GET");
@@ -59,14 +53,9 @@ public class S2PaperSearch extends SemanticScholarAPIRequest {
 		connection.setRequestProperty("content-type", "application/json");
 		//connection.setRequestProperty("authority", "www.semanticscholar.org");
 		//connection.setRequestProperty("dnt", "1");
-		connection.setRequestProperty("User-Agent", userAgentString);
 
 		//Convert received JSON to String
-		this.rawResponse = readResponseInputStreamToString(connection);
-
-
-		this.httpResponseCode = Integer.toString(connection.getResponseCode());
-		this.validDataIsReady = true;
+		send(connection, null);
 	}
 
 
@@ -1,18 +1,35 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import javax.net.ssl.HttpsURLConnection;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.jsoup.HttpStatusException;
 
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.CircuitBreaker;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.HostRateLimiter;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.JsoupHelper;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.ResponseCache;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.exception.NotAvailableException;
 
 public abstract class SemanticScholarAPIRequest {
+	private static Logger logger = LogManager.getLogger(SemanticScholarAPIRequest.class);
 
 	/**
 	 * Notes to save you time:
@@ -20,8 +37,6 @@ public abstract class SemanticScholarAPIRequest {
 	 * To test HTTP requests: nc -l -p 8080
 	 * Sets up local HTTP server on port 8080 to monitor all incoming requests, showing headers, body etc.
 	 * <p>
-	 * TODO Optional: Wait 3s between two requests
-	 * <p>
 	 * Then set semanticScholarInternalApiUrl = "http://localhost:8080/api/1/search";
 	 */
 
@@ -29,6 +44,18 @@ public abstract class SemanticScholarAPIRequest {
 	public static final String userAgentString = "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) snap Chromium/70.0.3538.110 Chrome/70.0.3538.110 Safari/537.36";
 	public static final String semanticScholarPublicApiUrl = "https://api.semanticscholar.org/";
 	private static final short allowedConnectionFailuresInSafeRun = 5;
+	/**
+	 * Semantic Scholar's quota of 100 requests per 5 minutes
+	 */
+	public static final double defaultRequestsPerSecond = 100 / 300.0D;
+	private static final long maxRetryAfter = TimeUnit.MINUTES.toMillis(5);
+	private static HostRateLimiter rateLimiter = new HostRateLimiter(defaultRequestsPerSecond, 5);
+	private static final CircuitBreaker circuitBreaker = new CircuitBreaker(5, TimeUnit.MINUTES.toMillis(1));
+	/**
+	 * Part of every cache key, increase it if the requests change in a way that makes the cached responses unusable
+	 */
+	static final int cacheVersion = 1;
+	private static ResponseCache cache = null;
 
 	protected String httpResponseCode = null;
 	protected String rawResponse = null;              //Response as received from the server
@@ -42,6 +69,22 @@ public abstract class SemanticScholarAPIRequest {
 	 */
 	public abstract void setQuery(String query);
 
+	/**
+	 * Sets the rate limiter that every request to Semantic Scholar has to pass before it is sent. It is shared by all threads
+	 * @param limiter The limiter to use, null to send requests without limiting them
+	 */
+	public static void setRateLimiter(HostRateLimiter limiter) {
+		rateLimiter = limiter;
+	}
+
+	/**
+	 * Sets the cache that responses are stored in and looked up from before sending a request
+	 * @param responseCache The cache to use, null to disable caching
+	 */
+	public static void setCache(ResponseCache responseCache) {
+		cache = responseCache;
+	}
+
 	/**
 	 * Executes the request and saves the response to be accessed by the get methods
 	 * @throws IOException If the HTTP connection fails
@@ -83,9 +126,10 @@ public abstract class SemanticScholarAPIRequest {
 
 
 	/**
-	 * Runs the .run() method and retries up to 5 times in case an IOException occurs
+	 * Runs the .run() method and retries up to 5 times in case an IOException occurs.
+	 * Between tries, it waits for an exponentially growing, jittered time. Errors of the request itself (e.g. 404) are not retried
 	 *
-	 * @throws IOException If the .run() method failed 5 times throwing an IOException
+	 * @throws IOException If the .run() method failed 5 times throwing an IOException or the request itself is faulty
 	 */
 	public final void safeRun() throws IOException {
 		short failedTries = 0;
@@ -93,48 +137,246 @@ public abstract class SemanticScholarAPIRequest {
 			try {
 				this.run();
 				return;             //If run successful, return
+			} catch ( HttpStatusException e ) {
+				if ( !isRetryable(e.getStatusCode()) || (cache != null && cache.isOffline()) ) { throw e; }      //Trying again won't help
+				failedTries++;
+				waitBeforeRetry(failedTries, e);
+			} catch ( InterruptedIOException e ) {
+				throw e;            //Don't retry if the thread should stop
 			} catch ( IOException e ) {
 				failedTries++;      //If run not successful, increase counter and retry
+				waitBeforeRetry(failedTries, e);
 			}
 		}
 		throw new IOException("HTTP Request failed "+failedTries+" times"); //Only reached if no run completed successfully
 	}
 
 	/**
-	 * Rawly writes a string to a connection
+	 * Waits before the next try of {@link #safeRun()}, if there is one
+	 *
+	 * @param failedTries How many tries failed so far
+	 * @param cause Why the last try failed
+	 * @throws InterruptedIOException If the thread is interrupted while waiting
+	 */
+	private static void waitBeforeRetry(short failedTries, IOException cause) throws InterruptedIOException {
+		if ( failedTries >= allowedConnectionFailuresInSafeRun ) { return; }
+
+		long delay = JsoupHelper.getBackoffDelay(failedTries - 1);
+
+		logger.warn("Semantic Scholar request failed ({}), tries left: {}, retrying in {}ms", cause.getMessage(), allowedConnectionFailuresInSafeRun - failedTries, delay);
+		try {
+			Thread.sleep(delay);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting to retry");
+		}
+	}
+
+	/**
+	 * @param status The HTTP status code of a failed request
+	 * @return true if the server is overloaded or failed, so the same request may succeed later (429 and 5xx)
+	 */
+	static boolean isRetryable(int status) {
+		return status == 429 || status >= 500;
+	}
+
+	/**
+	 * Opens a connection to the given URL with the settings all requests share. The connection is not opened to the server yet,
+	 * so the caller can still set the request method and further headers.
+	 * Connections to the same host are kept alive and reused by the JDK as long as every response is read completely and closed,
+	 * which {@link #readResponseInputStreamToString(HttpsURLConnection)} does. How many idle connections per host are kept
+	 * can be changed with -Dhttp.maxConnections (default 5)
+	 *
+	 * @param href The URL to connect to
+	 * @return The unopened connection
+	 * @throws IOException If the URL is malformed or the connection can't be created
+	 */
+	protected final static HttpsURLConnection openConnection(String href) throws IOException {
+		HttpsURLConnection connection = (HttpsURLConnection) new URL(href).openConnection();
+
+		connection.setDoOutput(true);
+		connection.setInstanceFollowRedirects(false);
+		connection.setConnectTimeout(30 * 1000);        //30s
+		connection.setUseCaches(false);                 //Don't cache anything
+		connection.setRequestProperty("Accept-Encoding", "gzip");
+		connection.setRequestProperty("User-Agent", userAgentString);
+		return connection;
+	}
+
+	/**
+	 * Sends the request and saves the response to be accessed by the get methods.
+	 * If a cache is set and it holds a fresh response to the same request, that one is used without connecting. Otherwise the request
+	 * waits until the rate limiter allows it and while Semantic Scholar is paused because it failed too often, and its response is cached
+	 *
+	 * @param connection The connection returned by {@link #openConnection(String)} with all headers set
+	 * @param payload The body of the request, null if there is none
+	 * @throws IOException If the HTTP connection to the server fails or, in offline mode, the response is not cached
+	 */
+	protected final void send(HttpsURLConnection connection, String payload) throws IOException {
+		String href = connection.getURL().toString();
+		String cacheKey = getCacheKey(connection.getRequestMethod(), href, payload);
+		ResponseCache.Entry cached = cache == null ? null : cache.get(cacheKey);
+
+		if (cached != null && cached.isFresh()) {
+			this.rawResponse = new String(cached.getBody(), StandardCharsets.UTF_8);
+			this.httpResponseCode = "200";
+			this.validDataIsReady = true;
+			return;
+		}
+
+		if (cache != null && cache.isOffline()) {   //504 is what HTTP caches answer if they may not ask the server
+			throw new HttpStatusException("No cached response available in offline mode", 504, href);
+		}
+
+		try {
+			circuitBreaker.awaitClosed();
+
+			if (rateLimiter != null) {
+				rateLimiter.acquire(href);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting to connect to " + href);
+		}
+
+		if (payload != null) {
+			writeStringToServer(payload, connection);
+		}
+
+		this.rawResponse = readResponseInputStreamToString(connection);
+		this.httpResponseCode = Integer.toString(connection.getResponseCode());
+		this.validDataIsReady = true;
+
+		if (cache != null) {
+			cache.put(cacheKey, null, null, "UTF-8", this.rawResponse.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * @param method The HTTP method of the request
+	 * @param href The requested URL
+	 * @param payload The body of the request, null if there is none
+	 * @return The key a response to the request is cached under, which contains the {@link #cacheVersion}
+	 */
+	static String getCacheKey(String method, String href, String payload) {
+		return "s2v" + cacheVersion + " " + method + " " + href + (payload == null ? "" : "\n" + payload);
+	}
+
+	/**
+	 * Rawly writes a string to a connection, encoded as UTF-8
 	 *
 	 * @param value      String to be written to the server
 	 * @param connection Connection to send the string to
 	 * @throws IOException if the HTTP connection to the server fails
 	 */
 	protected final static void writeStringToServer(String value, HttpsURLConnection connection) throws IOException {
-		OutputStreamWriter osw = new OutputStreamWriter(connection.getOutputStream());
-		osw.write(String.format(value));
-		osw.flush();
-		osw.close();
+		try (Writer osw = new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8)) {
+			osw.write(value);
+		}
 	}
 
 	/**
-	 * Parses the servers response input stream to a String
+	 * Parses the servers response input stream to a String and closes it, so the connection can be reused for the next request.
+	 * If the server responded with an error, its response is read and closed as well and an {@link HttpStatusException} is thrown.
+	 * If Semantic Scholar is overloaded or fails, all requests to it are paused for as long as it asks to via Retry-After or,
+	 * after too many failures in a row, by the circuit breaker
 	 *
 	 * @param connection Connection object to read the input stream from
 	 * @return The response as a string
 	 * @throws IOException if the HTTP connection to the server fails
 	 */
 	protected final static String readResponseInputStreamToString(HttpsURLConnection connection) throws IOException {
-		//1. Create in-/output streams
-		BufferedInputStream bis = new BufferedInputStream(connection.getInputStream());
-		ByteArrayOutputStream buf = new ByteArrayOutputStream();
-
-		//2. Read the input stream into the buffer
-		int result2 = bis.read();
-		while (result2 != -1) {
-			buf.write((byte) result2);
-			result2 = bis.read();
+		String href = connection.getURL().toString();
+		int status;
+
+		try {
+			status = connection.getResponseCode();
+		} catch (IOException e) {
+			recordFailure(href);
+			throw e;
 		}
 
-		//3. Create and return String from the buffer
-		return buf.toString();
+		if (status >= 400) {
+			InputStream error = connection.getErrorStream();
+
+			if (error != null) {
+				readToString(error, connection.getContentEncoding(), StandardCharsets.UTF_8); //Frees the connection for the next request
+			}
+
+			if (isRetryable(status)) {
+				long retryAfter = Math.min(JsoupHelper.parseRetryAfter(connection.getHeaderField("Retry-After")), maxRetryAfter);
+
+				if (retryAfter > 0 && rateLimiter != null) {
+					rateLimiter.pause(href, retryAfter);    //The whole service is overloaded, so the other threads should wait as well
+				}
+				recordFailure(href);
+			} else {
+				circuitBreaker.recordSuccess();             //Semantic Scholar works, the request was faulty
+			}
+			throw new HttpStatusException("HTTP error fetching URL", status, href);
+		}
+
+		String response = readToString(connection.getInputStream(), connection.getContentEncoding(), getCharset(connection.getContentType()));
+
+		circuitBreaker.recordSuccess();
+		return response;
+	}
+
+	/**
+	 * Counts a failed request for the circuit breaker and logs if Semantic Scholar is paused because of it
+	 *
+	 * @param href The URL that was requested
+	 */
+	private static void recordFailure(String href) {
+		if (circuitBreaker.recordFailure()) {
+			logger.warn("Too many failed requests to Semantic Scholar in a row, pausing all requests for a minute (last: {})", href);
+		}
+	}
+
+	/**
+	 * Reads a (possibly gzip compressed) stream completely and closes it
+	 *
+	 * @param stream The stream to read
+	 * @param contentEncoding The Content-Encoding of the stream, null if it's not compressed
+	 * @param charset The charset the content is encoded with
+	 * @return The decoded content
+	 * @throws IOException If the stream can't be read
+	 */
+	static String readToString(InputStream stream, String contentEncoding, Charset charset) throws IOException {
+		try (InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(stream) : stream) {
+			ByteArrayOutputStream buf = new ByteArrayOutputStream();
+			byte[] chunk = new byte[8192];
+			int read;
+
+			while ((read = in.read(chunk)) != -1) {
+				buf.write(chunk, 0, read);
+			}
+
+			return new String(buf.toByteArray(), charset);
+		}
+	}
+
+	/**
+	 * Finds the charset of a response in its Content-Type header
+	 *
+	 * @param contentType The Content-Type header, e.g. "application/json; charset=utf-8", may be null
+	 * @return The charset given in the header, UTF-8 if none or an unknown one is given
+	 */
+	static Charset getCharset(String contentType) {
+		if (contentType != null) {
+			for (String parameter : contentType.split(";")) {
+				parameter = parameter.trim();
+
+				if (parameter.regionMatches(true, 0, "charset=", 0, 8)) {
+					try {
+						return Charset.forName(parameter.substring(8).replace("\"", "").trim());
+					} catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+						break;
+					}
+				}
+			}
+		}
+		return StandardCharsets.UTF_8;
 	}
 
 
@@ -1,6 +1,8 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Common access interface to hide the database layer. Every Access-Class should implement this
@@ -28,4 +30,37 @@ public interface CommonAccess<T> {
 	 */
 	public List<T> get();
 
+	/**
+	 * Add/save many objects in database, in batches instead of one transaction per object.
+	 * If a batch fails, the batches before stay saved and the remaining objects are not saved.
+	 * @param data Objects of model T to be saved
+	 * @throws IllegalStateException If a transaction is already running, the batches are committed on their own
+	 * @throws javax.persistence.PersistenceException If a batch could not be saved
+	 */
+	public void addAll(Collection<T> data);
+
+	/**
+	 * Delete many objects from database, in batches instead of one transaction per object.
+	 * If a batch fails, the batches before stay deleted and the remaining objects are not deleted.
+	 * @param data Objects of model T to be removed
+	 * @throws IllegalStateException If a transaction is already running, the batches are committed on their own
+	 * @throws javax.persistence.PersistenceException If a batch could not be deleted
+	 */
+	public void deleteAll(Collection<T> data);
+
+	/**
+	 * Get one page of the entries of model/table T, ordered by ID.
+	 * @param offset Amount of entries to skip
+	 * @param limit Maximum amount of entries to return
+	 */
+	public List<T> get(int offset, int limit);
+
+	/**
+	 * Stream all entries of model/table T, ordered by ID, without loading them all into memory at once.
+	 * The entries are read through a cursor on a separate connection that is never committed, so changes can be saved while streaming.
+	 * They are detached and their lazy associations are not loaded.
+	 * The stream has to be closed after use, e.g. with try-with-resources.
+	 */
+	public Stream<T> stream();
+
 }
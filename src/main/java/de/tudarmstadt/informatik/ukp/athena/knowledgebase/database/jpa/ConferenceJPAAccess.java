@@ -1,6 +1,8 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityExistsException;
 import javax.persistence.EntityManager;
@@ -17,17 +19,15 @@ public class ConferenceJPAAccess implements CommonAccess<Conference> {
 	/**
 	 * {@inheritDoc}
 	 */
-	@Override
+	@Override
 	public void add(Conference data) {
-		EntityManager entityManager = PersistenceManager.getEntityManager();
-
-		entityManager.getTransaction().begin();
-		try {
-			entityManager.persist(data);
-		}catch(EntityExistsException e) { //branch not tested because exception shouldn't be thrown again just so junit can test for it
-			logger.warn("{} already exists in the database. Maybe try update", data.getID());
-		}
-		entityManager.getTransaction().commit();
+		PersistenceManager.runInTransaction(entityManager -> {
+			try {
+				entityManager.persist(data);
+			}catch(EntityExistsException e) { //branch not tested because exception shouldn't be thrown again just so junit can test for it
+				logger.warn("{} already exists in the database. Maybe try update", data.getID());
+			}
+		});
 	}
 
 	/**
@@ -35,11 +35,8 @@ public class ConferenceJPAAccess implements CommonAccess<Conference> {
 	 */
 	@Override
 	public void delete(Conference data) {
-		EntityManager entityManager = PersistenceManager.getEntityManager();
-
-		entityManager.getTransaction().begin();
-		entityManager.remove(data);
-		entityManager.getTransaction().commit();
+		PersistenceManager.runInTransaction(entityManager ->
+			entityManager.remove(entityManager.contains(data) ? data : entityManager.merge(data))); //data may come from another thread's EntityManager
 	}
 
 	/**
@@ -51,4 +48,36 @@ public class ConferenceJPAAccess implements CommonAccess<Conference> {
 		List<Conference> result = entityManager.createQuery("FROM Conference").getResultList();
 		return result;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addAll(Collection<Conference> data) {
+		JPABulkAccess.addAll(data, JPABulkAccess.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void deleteAll(Collection<Conference> data) {
+		JPABulkAccess.deleteAll(data, JPABulkAccess.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<Conference> get(int offset, int limit) {
+		return JPABulkAccess.get(Conference.class, offset, limit);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Stream<Conference> stream() {
+		return JPABulkAccess.stream(Conference.class, JPABulkAccess.DEFAULT_BATCH_SIZE);
+	}
 }
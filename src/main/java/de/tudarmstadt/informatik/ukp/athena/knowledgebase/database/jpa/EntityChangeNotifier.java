@@ -0,0 +1,124 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Tells interested parties (e.g. caches) which model was changed, whenever an entity is inserted, updated or deleted or the
+ * contents of one of its collections change. This catches every write that goes through hibernate, no matter if it comes from a
+ * *JPAAccess class, a cascade or an entity that was changed in place like when enhancing it with Semantic Scholar data.
+ * Changes are only reported after their transaction was committed, so nothing reads the old data again in between
+ */
+public class EntityChangeNotifier implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener,
+PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+	private static final long serialVersionUID = 1L;
+	private static final List<Consumer<Class<?>>> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Only created by the {@link PersistenceManager}
+	 */
+	EntityChangeNotifier() {}
+
+	/**
+	 * Adds a listener which gets called with the model class of every changed entity
+	 * @param listener The listener to add
+	 */
+	public static void addListener(Consumer<Class<?>> listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Calls all listeners
+	 * @param modelClass The model class of the changed entity
+	 */
+	private static void notifyListeners(Class<?> modelClass) {
+		for(Consumer<Class<?>> listener : listeners) {
+			listener.accept(modelClass);
+		}
+	}
+
+	/**
+	 * Calls all listeners with the owner of the changed collection once the transaction was committed. Collection events are fired
+	 * when the collection is flushed, and the owning side of a many-to-many association (e.g. a person's papers) does not cause an
+	 * entity event after the commit, so the notification is deferred to the end of the transaction
+	 * @param event The collection event
+	 */
+	private static void notifyListeners(AbstractCollectionEvent event) {
+		Class<?> modelClass = event.getSession().getFactory().getMetamodel().entityPersister(event.getAffectedOwnerEntityName()).getMappedClass();
+
+		event.getSession().getActionQueue().registerProcess((AfterTransactionCompletionProcess)(success, session) -> {
+			if(success) //a rollback did not change anything
+				notifyListeners(modelClass);
+		});
+	}
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		notifyListeners(event.getPersister().getMappedClass());
+	}
+
+	@Override
+	public void onPostInsertCommitFailed(PostInsertEvent event) {} //nothing changed
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		notifyListeners(event.getPersister().getMappedClass());
+	}
+
+	@Override
+	public void onPostUpdateCommitFailed(PostUpdateEvent event) {} //nothing changed
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		notifyListeners(event.getPersister().getMappedClass());
+	}
+
+	@Override
+	public void onPostDeleteCommitFailed(PostDeleteEvent event) {} //nothing changed
+
+	@Override
+	public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+		notifyListeners(event);
+	}
+
+	@Override
+	public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+		notifyListeners(event);
+	}
+
+	@Override
+	public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+		notifyListeners(event);
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return true; //only report committed changes
+	}
+
+	/**
+	 * Still abstract in this hibernate version, but hibernate only calls {@link #requiresPostCommitHandling(EntityPersister)}
+	 */
+	@Override
+	@Deprecated
+	public boolean requiresPostCommitHanding(EntityPersister persister) {
+		return requiresPostCommitHandling(persister);
+	}
+}
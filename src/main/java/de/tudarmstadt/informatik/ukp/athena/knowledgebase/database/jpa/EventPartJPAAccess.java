@@ -1,6 +1,8 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityExistsException;
 import javax.persistence.EntityManager;
@@ -19,24 +21,19 @@ public class EventPartJPAAccess implements CommonAccess<EventPart> {
 
 	@Override
 	public void add(EventPart data) {
-		EntityManager entityManager = PersistenceManager.getEntityManager();
-
-		entityManager.getTransaction().begin();
-		try {
-			entityManager.persist(data);
-		}catch(EntityExistsException e) { //branch not tested because exception shouldn't be thrown again just so junit can test for it
-			logger.warn("{} already exists in the database. Maybe try update", data.getID());
-		}
-		entityManager.getTransaction().commit();
+		PersistenceManager.runInTransaction(entityManager -> {
+			try {
+				entityManager.persist(data);
+			}catch(EntityExistsException e) { //branch not tested because exception shouldn't be thrown again just so junit can test for it
+				logger.warn("{} already exists in the database. Maybe try update", data.getID());
+			}
+		});
 	}
 
 	@Override
 	public void delete(EventPart data) {
-		EntityManager entityManager = PersistenceManager.getEntityManager();
-
-		entityManager.getTransaction().begin();
-		entityManager.remove(data);
-		entityManager.getTransaction().commit();
+		PersistenceManager.runInTransaction(entityManager ->
+			entityManager.remove(entityManager.contains(data) ? data : entityManager.merge(data))); //data may come from another thread's EntityManager
 	}
 
 	@Override
@@ -45,4 +42,36 @@ public class EventPartJPAAccess implements CommonAccess<EventPart> {
 		List<EventPart> result = entityManager.createQuery("FROM EventPart").getResultList();
 		return result;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addAll(Collection<EventPart> data) {
+		JPABulkAccess.addAll(data, JPABulkAccess.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void deleteAll(Collection<EventPart> data) {
+		JPABulkAccess.deleteAll(data, JPABulkAccess.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<EventPart> get(int offset, int limit) {
+		return JPABulkAccess.get(EventPart.class, offset, limit);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Stream<EventPart> stream() {
+		return JPABulkAccess.stream(EventPart.class, JPABulkAccess.DEFAULT_BATCH_SIZE);
+	}
 }
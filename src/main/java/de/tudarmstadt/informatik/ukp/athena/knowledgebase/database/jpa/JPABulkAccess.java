@@ -0,0 +1,271 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.persistence.EntityExistsException;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.persistence.metamodel.EntityType;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.NonUniqueObjectException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Model;
+
+/**
+ * The bulk operations of {@link de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.CommonAccess CommonAccess}, which work the same
+ * for every model. Each *JPAAccess class delegates to these with its model's class
+ */
+final class JPABulkAccess {
+	private static Logger logger = LogManager.getLogger(JPABulkAccess.class);
+	/**
+	 * How many entities are written per transaction and read per round trip, matches hibernate.jdbc.batch_size in the persistence.xml
+	 */
+	static final int DEFAULT_BATCH_SIZE = 50;
+
+	private JPABulkAccess() {}
+
+	/**
+	 * Adds many entities at once. Instead of one transaction per entity, the entities are inserted in chunks of the given size,
+	 * each in its own transaction. After every chunk the persistence context is flushed and cleared, so its memory usage stays flat
+	 * and hibernate can send the inserts in JDBC batches
+	 * Entities that already have an ID are skipped, they have been persisted already, e.g. by cascading from another entity.
+	 * New entities may reference entities that already exist in the database (e.g. a new paper of a known author), which are attached
+	 * again by cascading instead of failing like a plain persist of a detached entity would.
+	 * The batch size only counts the given entities, not the ones reached by cascading, so the chunks are only bounded if the
+	 * cascades don't reach far, see {@link PaperJPAAccess#addAll(Collection, int)} for how papers and their authors are added.
+	 * If a chunk can't be committed, it is rolled back and the remaining entities are not added, as the entities of the failed chunk
+	 * (including the cascaded ones) keep the IDs they were given and would be skipped as already persisted. The chunks before stay committed
+	 * @param data The entities to add
+	 * @param batchSize How many entities to insert per transaction
+	 * @throws IllegalStateException If a transaction is already running, the chunks are committed on their own and can't join it
+	 * @throws PersistenceException If a chunk could not be committed
+	 */
+	static <T extends Model> void addAll(Collection<T> data, int batchSize) {
+		save(data, batchSize, false);
+	}
+
+	/**
+	 * Saves many entities at once like {@link #addAll(Collection, int)}, but entities that already have an ID are updated instead of skipped
+	 * @param data The entities to save
+	 * @param batchSize How many entities to save per transaction
+	 * @throws IllegalStateException If a transaction is already running
+	 * @throws PersistenceException If a chunk could not be committed
+	 */
+	static <T extends Model> void saveAll(Collection<T> data, int batchSize) {
+		save(data, batchSize, true);
+	}
+
+	/**
+	 * Saves the entities in chunks, see {@link #addAll(Collection, int)}
+	 * @param data The entities to save
+	 * @param batchSize How many entities to save per transaction
+	 * @param updatePersisted true to update entities that already have an ID, false to skip them
+	 */
+	private static <T extends Model> void save(Collection<T> data, int batchSize, boolean updatePersisted) {
+		EntityManager entityManager = PersistenceManager.getEntityManager();
+		int inChunk = 0;
+		int chunks = 0;
+
+		requireNoTransaction(entityManager);
+		entityManager.getTransaction().begin();
+
+		for(T entity : data) {
+			if(!updatePersisted && isPersisted(entity)) //persisted by cascading from an entity that was persisted before
+				continue;
+
+			try {
+				entityManager.unwrap(Session.class).saveOrUpdate(entity); //cascades save-update, which reattaches referenced existing entities
+			}
+			catch(EntityExistsException | NonUniqueObjectException e) {
+				logger.warn("{} already exists in the database. Maybe try update", entity.getID());
+			}
+
+			if(++inChunk == batchSize) {
+				commitChunk(entityManager, ++chunks);
+				inChunk = 0;
+				entityManager.getTransaction().begin();
+			}
+		}
+
+		commitChunk(entityManager, ++chunks);
+	}
+
+	/**
+	 * Deletes many entities at once, in chunks of the given size with one transaction each. Entities that are not managed
+	 * anymore (e.g. because a bulk operation cleared the persistence context) are looked up before removing them.
+	 * If a chunk can't be committed, it is rolled back and the remaining entities are not deleted
+	 * @param data The entities to delete
+	 * @param batchSize How many entities to delete per transaction
+	 * @throws IllegalStateException If a transaction is already running, the chunks are committed on their own and can't join it
+	 * @throws PersistenceException If a chunk could not be committed
+	 */
+	static <T extends Model> void deleteAll(Collection<T> data, int batchSize) {
+		EntityManager entityManager = PersistenceManager.getEntityManager();
+		int inChunk = 0;
+		int chunks = 0;
+
+		requireNoTransaction(entityManager);
+		entityManager.getTransaction().begin();
+
+		for(T entity : data) {
+			if(entityManager.contains(entity))
+				entityManager.remove(entity);
+			else if(isPersisted(entity)) {
+				Model managed = entityManager.find(entity.getClass(), entity.getID());
+
+				if(managed != null)
+					entityManager.remove(managed);
+			}
+
+			if(++inChunk == batchSize) {
+				commitChunk(entityManager, ++chunks);
+				inChunk = 0;
+				entityManager.getTransaction().begin();
+			}
+		}
+
+		commitChunk(entityManager, ++chunks);
+	}
+
+	/**
+	 * Gets one page of the entries of a model, ordered by ID so the pages don't overlap
+	 * @param type The model class
+	 * @param offset How many entries to skip
+	 * @param limit The maximum amount of entries to return
+	 * @return The entries on the page, empty if the offset is past the last entry
+	 */
+	static <T> List<T> get(Class<T> type, int offset, int limit) {
+		return PersistenceManager.getEntityManager().createQuery(selectAllOrdered(type), type)
+				.setFirstResult(offset)
+				.setMaxResults(limit)
+				.getResultList();
+	}
+
+	/**
+	 * Streams all entries of a model, ordered by ID, through a database cursor instead of loading the whole table.
+	 * The cursor runs on its own stateless session, which has its own connection and is only in a read transaction that is rolled back
+	 * when the stream is closed. Committing the thread's EntityManager while streaming thus does not affect the cursor, and as the session
+	 * has no persistence context, nothing needs to be cleared. The streamed entries are detached, their lazy associations can't be loaded.
+	 * The stream holds the cursor and the connection open and has to be closed, e.g. with try-with-resources
+	 * @param type The model class
+	 * @param batchSize How many entries to fetch per round trip
+	 * @return The stream of all entries
+	 */
+	static <T> Stream<T> stream(Class<T> type, int batchSize) {
+		StatelessSession session = PersistenceManager.openStatelessSession();
+
+		try {
+			Transaction transaction = session.beginTransaction(); //only read in, never committed
+			ScrollableResults results = session.createQuery(selectAllOrdered(type), type)
+					.setFetchSize(batchSize)
+					.setReadOnly(true)
+					.scroll(ScrollMode.FORWARD_ONLY);
+			Iterator<T> iterator = new Iterator<T>() {
+				private boolean hasNext = results.next();
+
+				@Override
+				public boolean hasNext() {
+					return hasNext;
+				}
+
+				@Override
+				public T next() {
+					if(!hasNext)
+						throw new NoSuchElementException();
+
+					T entity = type.cast(results.get(0));
+
+					hasNext = results.next();
+					return entity;
+				}
+			};
+
+			return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> {
+				try {
+					results.close();
+
+					if(transaction.isActive())
+						transaction.rollback();
+				}
+				finally {
+					session.close();
+				}
+			});
+		}
+		catch(RuntimeException e) { //the stream was not created, so nobody else closes the session
+			session.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Builds a JPQL query selecting all entries of the given model, ordered by their ID
+	 * @param type The model class
+	 * @return The query
+	 */
+	private static String selectAllOrdered(Class<?> type) {
+		EntityType<?> entity = PersistenceManager.getEntityManager().getMetamodel().entity(type);
+
+		return "SELECT e FROM " + entity.getName() + " e ORDER BY e." + entity.getId(entity.getIdType().getJavaType()).getName();
+	}
+
+	/**
+	 * @param entity The entity to check
+	 * @return true if the entity has an ID, which means it has been persisted before
+	 */
+	private static boolean isPersisted(Model entity) {
+		Object id = entity.getID();
+
+		return id instanceof Number && ((Number)id).longValue() != 0;
+	}
+
+	/**
+	 * Makes sure that the bulk operation is not run inside another transaction, e.g. from {@link PersistenceManager#runInTransaction(java.util.function.Consumer)}.
+	 * Committing the chunks would commit the outer transaction's work as well and clearing would detach its entities
+	 * @param entityManager The entity manager of the current thread
+	 * @throws IllegalStateException If a transaction is running
+	 */
+	private static void requireNoTransaction(EntityManager entityManager) {
+		if(entityManager.getTransaction().isActive())
+			throw new IllegalStateException("Bulk operations commit their own chunks and can't be run inside a transaction");
+	}
+
+	/**
+	 * Flushes and commits the current transaction, then clears the persistence context. If the commit fails, the chunk is rolled back
+	 * @param entityManager The entity manager the chunk was handled with
+	 * @param chunk The number of the chunk, for logging
+	 * @throws PersistenceException If the chunk could not be committed
+	 */
+	private static void commitChunk(EntityManager entityManager, int chunk) {
+		try {
+			entityManager.flush();
+			entityManager.getTransaction().commit();
+			logger.info("Committed chunk {}", chunk);
+		}
+		catch(PersistenceException e) {
+			logger.error("Could not commit chunk {}, rolling it back and stopping", chunk, e);
+
+			if(entityManager.getTransaction().isActive())
+				entityManager.getTransaction().rollback();
+
+			throw e;
+		}
+		finally {
+			entityManager.clear(); //the handled entities are not needed anymore, don't keep them in memory
+		}
+	}
+}
@@ -1,15 +1,27 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityExistsException;
 import javax.persistence.EntityManager;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hibernate.Hibernate;
 
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.CommonAccess;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Paper;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
 
 public class PaperJPAAccess implements CommonAccess<Paper> {
 	private static Logger logger = LogManager.getLogger(PaperJPAAccess.class);
@@ -19,15 +31,81 @@ public class PaperJPAAccess implements CommonAccess<Paper> {
 	 */
 	@Override
 	public void add(Paper data) {
-		EntityManager entityManager = PersistenceManager.getEntityManager();
+		PersistenceManager.runInTransaction(entityManager -> {
+			try {
+				entityManager.persist(data);
+			}catch(EntityExistsException e) { //branch not tested because exception shouldn't be thrown again just so junit can test for it
+				logger.warn("{} already exists in the database. Maybe try update", data.getID());
+			}
+		});
+	}
+
+	/**
+	 * Adds many papers at once, in chunks of the given size with one transaction each.
+	 * Papers and authors cascade to each other, so saving one paper would reach the whole group of co-authors and their papers in one chunk.
+	 * Instead, all papers reachable through the authors are added first while their author sets are taken away, then all of their authors
+	 * are saved, which writes the author_paper relations and only cascades to the papers that are saved already.
+	 * This way every chunk holds at most batchSize papers or authors plus the papers of those authors
+	 * @param data The papers to add
+	 * @param batchSize How many papers or authors to save per transaction
+	 * @throws IllegalStateException If a transaction is already running
+	 * @throws javax.persistence.PersistenceException If a chunk could not be saved, the following chunks are not saved either.
+	 * If it was a chunk of authors, the papers are saved without some of their authors
+	 */
+	public void addAll(Collection<Paper> data, int batchSize) {
+		List<Paper> papers = new ArrayList<>();
+		List<Person> authors = new ArrayList<>();
+		Map<Paper,Set<Person>> authorsOfPapers = new IdentityHashMap<>();
+
+		collectGraph(data, papers, authors);
+
+		for(Paper paper : papers) {
+			if(Hibernate.isInitialized(paper.getAuthors())) {
+				authorsOfPapers.put(paper, paper.getAuthors());
+				paper.setAuthors(new HashSet<>()); //the paper does not own the relation, so this only stops the cascade
+			}
+		}
 
-		entityManager.getTransaction().begin();
 		try {
-			entityManager.persist(data);
-		}catch(EntityExistsException e) { //branch not tested because exception shouldn't be thrown again just so junit can test for it
-			logger.warn("{} already exists in the database. Maybe try update", data.getID());
+			JPABulkAccess.addAll(papers, batchSize);
+			JPABulkAccess.saveAll(authors, batchSize); //known authors are updated as well, they may have new papers
+		}
+		finally {
+			authorsOfPapers.forEach(Paper::setAuthors);
+		}
+	}
+
+	/**
+	 * Finds all papers and authors that are connected to the given papers. Collections that were not loaded are not followed,
+	 * they can't have been changed
+	 * @param data The papers to start at
+	 * @param papers Gets all connected papers, starting with the given ones
+	 * @param authors Gets all authors of the connected papers
+	 */
+	private static void collectGraph(Collection<Paper> data, List<Paper> papers, List<Person> authors) {
+		Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<Paper> open = new ArrayDeque<>(data);
+
+		while(!open.isEmpty()) {
+			Paper paper = open.poll();
+
+			if(!seen.add(paper))
+				continue;
+
+			papers.add(paper);
+
+			if(!Hibernate.isInitialized(paper.getAuthors()))
+				continue;
+
+			for(Person author : paper.getAuthors()) {
+				if(seen.add(author)) {
+					authors.add(author);
+
+					if(Hibernate.isInitialized(author.getPapers()))
+						open.addAll(author.getPapers());
+				}
+			}
 		}
-		entityManager.getTransaction().commit();
 	}
 
 	/**
@@ -35,11 +113,8 @@ public class PaperJPAAccess implements CommonAccess<Paper> {
 	 */
 	@Override
 	public void delete(Paper data) {
-		EntityManager entityManager = PersistenceManager.getEntityManager();
-
-		entityManager.getTransaction().begin();
-		entityManager.remove(data);
-		entityManager.getTransaction().commit();
+		PersistenceManager.runInTransaction(entityManager ->
+			entityManager.remove(entityManager.contains(data) ? data : entityManager.merge(data))); //data may come from another thread's EntityManager
 	}
 
 	/**
@@ -52,6 +127,48 @@ public class PaperJPAAccess implements CommonAccess<Paper> {
 		return result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addAll(Collection<Paper> data) {
+		addAll(data, JPABulkAccess.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void deleteAll(Collection<Paper> data) {
+		JPABulkAccess.deleteAll(data, JPABulkAccess.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<Paper> get(int offset, int limit) {
+		return JPABulkAccess.get(Paper.class, offset, limit);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Stream<Paper> stream() {
+		return JPABulkAccess.stream(Paper.class, JPABulkAccess.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Loads all papers together with their authors in one query. The papers stay in the persistence context of the current thread,
+	 * so loading the persons with {@link PersonJPAAccess#getAllWithPapers()} on the same thread afterwards yields the same instances
+	 * and the relationship is loaded from both sides. Meant for crawlers, which look up every paper they come across
+	 * @return All papers of the database
+	 */
+	public List<Paper> getAllWithAuthors() {
+		return PersistenceManager.getEntityManager().createQuery("SELECT DISTINCT c FROM Paper c LEFT JOIN FETCH c.persons", Paper.class).getResultList();
+	}
+
 	/**
 	 * Finds a matching DB entry by the attributes of a given paper object, null is seen as wildcard
 	 * If no attribute is specified, return null
@@ -62,44 +179,33 @@ public class PaperJPAAccess implements CommonAccess<Paper> {
 	 * @return An object from the DB with matching attributes, null if no object found or no search constraint set
 	 */
 	public List<Paper> getByKnownAttributes(Paper toFind) {
-		//1. Build JPQL query for combined search
-		String query = "SELECT c FROM Paper c WHERE ";
-		boolean addedConstraint = false;
-		if( toFind.getSemanticScholarID() != null ) {
-			System.out.println("Got parameter s2id");
-			query = query + "c.semanticScholarID LIKE '"+toFind.getSemanticScholarID() + "'";
-			addedConstraint = true;
-		}
-		if ( toFind.getTitle() != null && toFind.getTitle() != "" ) {
-			System.out.println("Got parameter title");
-			if (addedConstraint) { query = query + " AND "; }
-			query = query + "c.title = '"+toFind.getTitle().replace("'", "''") + "'";
-			addedConstraint = true;
-		}
-
-		if ( !addedConstraint ) { return null; }
-		logger.info(query);
-
-		//2. Execute query
+		String semanticScholarID = toFind.getSemanticScholarID();
+		String title = toFind.getTitle() == null || toFind.getTitle().isEmpty() ? null : toFind.getTitle();
 		EntityManager entityManager = PersistenceManager.getEntityManager();
-		List<Paper> result = entityManager.createQuery(query).getResultList();
-		System.out.println("Got "+ result.size()+ " results");
+		List<Paper> result;
+
+		if( semanticScholarID == null && title == null ) { return null; }
 
-		if( result.size() > 0 ) { return result; }
+		//1. If both attributes are known, search for entries matching both
+		if( semanticScholarID != null && title != null ) {
+			result = entityManager.createNamedQuery("Paper.findBySemanticScholarIDAndTitle", Paper.class)
+					.setParameter("semanticScholarID", semanticScholarID)
+					.setParameter("title", title)
+					.getResultList();
+			if( result.size() > 0 ) { return result; }
+		}
 
-		//3. If nothing found, try searching for Attributes separately
-		if( toFind.getSemanticScholarID() != null ) {
-			query = "SELECT c FROM Paper c WHERE c.semanticScholarID LIKE '"+toFind.getSemanticScholarID() + "'";
-			result = entityManager.createQuery(query).getResultList();
+		//2. If nothing found, try searching for Attributes separately
+		if( semanticScholarID != null ) {
+			result = entityManager.createNamedQuery("Paper.findBySemanticScholarID", Paper.class).setParameter("semanticScholarID", semanticScholarID).getResultList();
 			if( result.size() > 0 ) { return result; }
 		}
-		if ( toFind.getTitle() != null && toFind.getTitle() != "" ) {
-			query = "SELECT c FROM Paper c WHERE c.title = '"+toFind.getTitle().replace("'", "''") + "'";
-			result = entityManager.createQuery(query).getResultList();
+		if( title != null ) {
+			result = entityManager.createNamedQuery("Paper.findByTitle", Paper.class).setParameter("title", title).getResultList();
 			if( result.size() > 0 ) { return result; }
 		}
 
-		//4. If still nothing found, return null
+		//3. If still nothing found, return null
 		return null;
 	}
 
@@ -129,19 +235,13 @@ public class PaperJPAAccess implements CommonAccess<Paper> {
 	 * @return DB entry of paper with matching S2ID, null if not found
 	 */
 	public Paper getByTitle( String title ) {
-		//1. Build JPQL query
 		if( title != null ) {
-			String query = "SELECT c FROM Paper c WHERE c.title = '"+title.replace("'","''") + "'";
-			logger.info(query);
-			EntityManager entityManager = PersistenceManager.getEntityManager();
-			List<Paper> matches = entityManager.createQuery(query).getResultList();
+			List<Paper> matches = PersistenceManager.getEntityManager().createNamedQuery("Paper.findByTitle", Paper.class)
+					.setParameter("title", title)
+					.setMaxResults(1)	//Choose first result
+					.getResultList();
 
-			if(matches.size() < 1) { //No matching paper could be found in the DB
-				return null;
-			}
-			else { 					//Choose first result
-				return matches.get(0);
-			}
+			return matches.size() > 0 ? matches.get(0) : null;	//null if no matching paper could be found in the DB
 		}
 		return null;
 	}
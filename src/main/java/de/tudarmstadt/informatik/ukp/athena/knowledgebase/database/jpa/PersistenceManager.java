@@ -1,29 +1,203 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
 import javax.persistence.Persistence;
 import javax.persistence.PersistenceUnit;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.service.UnknownUnwrapTypeException;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.jpa.HibernateMetrics;
+
 public class PersistenceManager {
+	private static Logger logger = LogManager.getLogger(PersistenceManager.class);
 
 	/**
 	 * This field should be configurable via commandline arguments or configuration files to support multiple persistence units.
 	 */
 	@PersistenceUnit
-	private static final EntityManagerFactory entityManagerFactory = Persistence.createEntityManagerFactory("hibernate");
+	private static final EntityManagerFactory entityManagerFactory = Persistence.createEntityManagerFactory("hibernate", getOverriddenProperties());
+
+	/**
+	 * EntityManagers are not thread-safe, so every thread gets its own
+	 */
+	private static final ThreadLocal<EntityManager> entityManager = new ThreadLocal<>();
+
+	static {
+		registerPoolMetrics();
+		registerStatisticsMetrics();
+		registerChangeNotifier();
+		SchemaVerifier.verify(entityManagerFactory);
+	}
+
+	/**
+	 * Collect the properties of the persistence unit that are overridden by system properties of the same name,
+	 * e.g. -Dhibernate.hikari.maximumPoolSize=20 or the ones set from the command line arguments of the ParsedDataInserter.
+	 * @return the overridden hibernate.* and javax.persistence.* properties
+	 */
+	private static Map<String,String> getOverriddenProperties() {
+		Map<String,String> properties = new HashMap<>();
+
+		for(String key : System.getProperties().stringPropertyNames()) {
+			if(key.startsWith("hibernate.") || key.startsWith("javax.persistence.")) {
+				properties.put(key, System.getProperty(key));
+			}
+		}
+		return properties;
+	}
 
-	static EntityManager entityManager;
+	/**
+	 * Publish the metrics of the connection pool (active/idle/pending connections, time waited for a connection etc.)
+	 * to the global micrometer registry, which Spring Boot exposes under /actuator/metrics/hikaricp.*
+	 */
+	private static void registerPoolMetrics() {
+		try {
+			ConnectionProvider connectionProvider = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(ConnectionProvider.class);
+
+			connectionProvider.unwrap(HikariDataSource.class).setMetricRegistry(Metrics.globalRegistry);
+		}
+		catch(UnknownUnwrapTypeException e) { //another connection provider is configured
+			logger.info("Not using a HikariCP connection pool, no pool metrics available");
+		}
+	}
+
+	/**
+	 * Publish hibernate's statistics (executed queries, loaded entities, cache hits etc.) to the global micrometer registry,
+	 * which Spring Boot exposes under /actuator/metrics/hibernate.*. Collecting them has a cost, so this only happens
+	 * if they are enabled with -Dhibernate.generate_statistics=true
+	 */
+	private static void registerStatisticsMetrics() {
+		if(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().isStatisticsEnabled())
+			HibernateMetrics.monitor(Metrics.globalRegistry, entityManagerFactory, "hibernate");
+	}
+
+	/**
+	 * Register the {@link EntityChangeNotifier} for all kinds of writes, so its listeners learn about every change of the database
+	 */
+	private static void registerChangeNotifier() {
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+		EntityChangeNotifier notifier = new EntityChangeNotifier();
+
+		registry.appendListeners(EventType.POST_COMMIT_INSERT, notifier);
+		registry.appendListeners(EventType.POST_COMMIT_UPDATE, notifier);
+		registry.appendListeners(EventType.POST_COMMIT_DELETE, notifier);
+		registry.appendListeners(EventType.POST_COLLECTION_RECREATE, notifier);
+		registry.appendListeners(EventType.POST_COLLECTION_UPDATE, notifier);
+		registry.appendListeners(EventType.POST_COLLECTION_REMOVE, notifier);
+	}
 
 	/**
-	 * Get the Hibernate-SessionFactory.
-	 * @return the SessionFactory
+	 * Get the EntityManager of the current thread, creates one if the thread does not have an open one yet.
+	 * Threads which are reused for unrelated work (e.g. the ones serving API requests) should call {@link #closeEntityManager()}
+	 * after each unit of work, so the next one does not see stale entities.
+	 * @return the EntityManager of the current thread
 	 */
 	public static EntityManager getEntityManager() {
-		if(entityManager == null) {
-			entityManager = entityManagerFactory.createEntityManager();
+		EntityManager threadEntityManager = entityManager.get();
+
+		if(threadEntityManager == null || !threadEntityManager.isOpen()) {
+			threadEntityManager = entityManagerFactory.createEntityManager();
+			entityManager.set(threadEntityManager);
+		}
+		return threadEntityManager;
+	}
+
+	/**
+	 * Close the EntityManager of the current thread, if it has one. A transaction that is still running is rolled back.
+	 * The next call of {@link #getEntityManager()} on this thread creates a new EntityManager.
+	 */
+	public static void closeEntityManager() {
+		EntityManager threadEntityManager = entityManager.get();
+
+		entityManager.remove();
+		if(threadEntityManager != null && threadEntityManager.isOpen()) {
+			if(threadEntityManager.getTransaction().isActive()) {
+				threadEntityManager.getTransaction().rollback();
+			}
+			threadEntityManager.close();
 		}
-		return entityManager;
+	}
+
+	/**
+	 * Hand the EntityManager of the current thread over to the caller, e.g. to continue using it on another thread.
+	 * The current thread forgets about it, so the caller is responsible for closing it.
+	 * The next call of {@link #getEntityManager()} on this thread creates a new EntityManager.
+	 * @return the EntityManager of the current thread
+	 */
+	public static EntityManager takeEntityManager() {
+		EntityManager threadEntityManager = getEntityManager();
+
+		entityManager.remove();
+		return threadEntityManager;
+	}
+
+	/**
+	 * Run the given work in a transaction on the current thread's EntityManager and commit it afterwards.
+	 * If the work throws an exception, the transaction is rolled back and the exception is rethrown.
+	 * If a transaction is already running, the work joins it and the outer caller decides about committing.
+	 * @param work the work to do, gets the EntityManager to use
+	 * @return the result of the work
+	 */
+	public static <R> R callInTransaction(Function<EntityManager,R> work) {
+		EntityManager threadEntityManager = getEntityManager();
+		EntityTransaction transaction = threadEntityManager.getTransaction();
+		boolean ownsTransaction = !transaction.isActive();
+
+		if(ownsTransaction) {
+			transaction.begin();
+		}
+		try {
+			R result = work.apply(threadEntityManager);
+
+			if(ownsTransaction) {
+				transaction.commit();
+			}
+			return result;
+		}
+		catch(RuntimeException e) {
+			if(ownsTransaction && transaction.isActive()) {
+				transaction.rollback();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Run the given work in a transaction, see {@link #callInTransaction(Function)}.
+	 * @param work the work to do, gets the EntityManager to use
+	 */
+	public static void runInTransaction(Consumer<EntityManager> work) {
+		callInTransaction(threadEntityManager -> {
+			work.accept(threadEntityManager);
+			return null;
+		});
+	}
+
+	/**
+	 * Opens a stateless session on its own connection, independent of the EntityManager of the current thread.
+	 * It has no persistence context, so entities read with it are detached right away and memory does not grow with the amount read.
+	 * The caller is responsible for closing it
+	 * @return the new stateless session
+	 */
+	public static StatelessSession openStatelessSession() {
+		return entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession();
 	}
 
 	/**
@@ -1,6 +1,8 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityExistsException;
 import javax.persistence.EntityManager;
@@ -19,15 +21,13 @@ public class PersonJPAAccess implements CommonAccess<Person> {
 	 */
 	@Override
 	public void add(Person data) {
-		EntityManager entityManager = PersistenceManager.getEntityManager();
-
-		entityManager.getTransaction().begin();
-		try {
-			entityManager.persist(data);
-		}catch(EntityExistsException e) { //branch not tested because exception shouldn't be thrown again just so junit can test for it
-			logger.warn("{} already exists in the database. Maybe try update", data.getID());
-		}
-		entityManager.getTransaction().commit();
+		PersistenceManager.runInTransaction(entityManager -> {
+			try {
+				entityManager.persist(data);
+			}catch(EntityExistsException e) { //branch not tested because exception shouldn't be thrown again just so junit can test for it
+				logger.warn("{} already exists in the database. Maybe try update", data.getID());
+			}
+		});
 	}
 
 
@@ -36,11 +36,8 @@ public class PersonJPAAccess implements CommonAccess<Person> {
 	 */
 	@Override
 	public void delete(Person data) {
-		EntityManager entityManager = PersistenceManager.getEntityManager();
-
-		entityManager.getTransaction().begin();
-		entityManager.remove(data);
-		entityManager.getTransaction().commit();
+		PersistenceManager.runInTransaction(entityManager ->
+			entityManager.remove(entityManager.contains(data) ? data : entityManager.merge(data))); //data may come from another thread's EntityManager
 	}
 
 	/**
@@ -53,6 +50,61 @@ public class PersonJPAAccess implements CommonAccess<Person> {
 		return result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addAll(Collection<Person> data) {
+		JPABulkAccess.addAll(data, JPABulkAccess.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void deleteAll(Collection<Person> data) {
+		JPABulkAccess.deleteAll(data, JPABulkAccess.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<Person> get(int offset, int limit) {
+		return JPABulkAccess.get(Person.class, offset, limit);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Stream<Person> stream() {
+		return JPABulkAccess.stream(Person.class, JPABulkAccess.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Loads all persons together with their papers in one query. The persons stay in the persistence context of the current thread,
+	 * see {@link PaperJPAAccess#getAllWithAuthors()}. Meant for crawlers, which look up every person they come across
+	 * @return All persons of the database
+	 */
+	public List<Person> getAllWithPapers() {
+		return PersistenceManager.getEntityManager().createQuery("SELECT DISTINCT c FROM Person c LEFT JOIN FETCH c.papers", Person.class).getResultList();
+	}
+
+	/**
+	 * Gets the IDs of the persons following the given ID in ascending order. Paging by the last seen ID only reads the index of the
+	 * primary key, unlike an offset, which gets slower the further it is
+	 * @param after The ID to start after, 0 to start at the beginning
+	 * @param limit How many IDs to get at most
+	 * @return The IDs, an empty list if there are no more persons
+	 */
+	public List<Long> getIDsAfter(long after, int limit) {
+		return PersistenceManager.getEntityManager().createQuery("SELECT c.personID FROM Person c WHERE c.personID > :after ORDER BY c.personID", Long.class)
+				.setParameter("after", after)
+				.setMaxResults(limit)
+				.getResultList();
+	}
+
 	/**
 	 * Finds a matching DB entry by the attributes of a given person object, null is seen as wildcard
 	 * If no attribute is specified, return null
@@ -62,46 +114,35 @@ public class PersonJPAAccess implements CommonAccess<Person> {
 	 * @return An object from the DB with matching attributes
 	 */
 	public List<Person> getByKnownAttributes(Person toFind) {
-		//1. Get entityManager
+		String semanticScholarID = toFind.getSemanticScholarID();
+		String fullName = toFind.getFullName() == null || toFind.getFullName().isEmpty() ? null : toFind.getFullName();
 		EntityManager entityManager = PersistenceManager.getEntityManager();
+		List<Person> result;
 
-		//2. Build JPQL query string
-		String query = "SELECT c FROM Person c WHERE ";
-		boolean addedConstraint = false;
-		if( toFind.getSemanticScholarID() != null ) {	//if s2id is known, add it to the query phrase
-			query = query + "c.semanticScholarID LIKE '"+toFind.getSemanticScholarID() + "'";
-			addedConstraint = true;
-		}
-		if ( toFind.getFullName() != null && toFind.getFullName() != "" ) {	//if name is known, add it to query phrase
-			if (addedConstraint) { query = query + " and "; }
-			query = query + "c.fullName = '"+toFind.getFullName().replace("'", "''") + "'";
-			addedConstraint = true;
-		}
-
-		if ( !addedConstraint ) { return null; }	//if no attributes added to searchquery, return null
-		logger.info(query);
+		if(semanticScholarID == null && fullName == null) { return null; }	//if no attributes are known, return null
 
-		//3. Execute query
-		List<Person> result = entityManager.createQuery(query).getResultList();
-
-		//4. If results are found, return them
-		if( result.size() > 0 ) { return result; }
+		//1. If both attributes are known, search for entries matching both
+		if(semanticScholarID != null && fullName != null) {
+			result = entityManager.createNamedQuery("Person.findBySemanticScholarIDAndFullName", Person.class)
+					.setParameter("semanticScholarID", semanticScholarID)
+					.setParameter("fullName", fullName)
+					.getResultList();
+			if( result.size() > 0 ) { return result; }
+		}
 
-		//5. If not, repeat search, but only use s2id
-		if( toFind.getSemanticScholarID() != null ) {
-			query = "SELECT c FROM Person c WHERE c.semanticScholarID LIKE '"+toFind.getSemanticScholarID() + "'";
-			result = entityManager.createQuery(query).getResultList();
+		//2. If not, repeat search, but only use s2id
+		if( semanticScholarID != null ) {
+			result = entityManager.createNamedQuery("Person.findBySemanticScholarID", Person.class).setParameter("semanticScholarID", semanticScholarID).getResultList();
 			if( result.size() > 0 ) { return result; }		//if search delivered results, break up and return them
 		}
 
-		//6. If still no results found, repeat search but use full name as only search filter
-		if ( toFind.getFullName() != null && toFind.getFullName() != "" ) {
-			query = "SELECT c FROM Person c WHERE c.fullName = '"+toFind.getFullName().replace("'", "''") + "'";
-			result = entityManager.createQuery(query).getResultList();
-			if( result.size() > 0 ) { return result; }		///if search delivered results, break up and return them
+		//3. If still no results found, repeat search but use full name as only search filter
+		if( fullName != null ) {
+			result = entityManager.createNamedQuery("Person.findByFullName", Person.class).setParameter("fullName", fullName).getResultList();
+			if( result.size() > 0 ) { return result; }		//if search delivered results, break up and return them
 		}
 
-		//7. If no search succeeded, return null
+		//4. If no search succeeded, return null
 		return null;
 	}
 
@@ -113,19 +154,9 @@ public class PersonJPAAccess implements CommonAccess<Person> {
 	 * @return DB entry of person with matching S2ID, null if not found
 	 */
 	public Person getBySemanticScholarID( String semanticScholarID ) {
-
 		if( semanticScholarID == null ) { return null; }
 
-		//Build JPQL query
-		String query = "SELECT c FROM Person c WHERE c.semanticScholarID = '"+semanticScholarID.replace("'","''") + "'";
-		logger.info(query);
-		EntityManager entityManager = PersistenceManager.getEntityManager();
-
-		//Execute query
-		List<Person> matches = entityManager.createQuery(query).getResultList();
-
-		//If results are found, return them. Otherwise return null
-		return (matches.size() > 0) ? matches.get(0) : null;
+		return getFirst("Person.findBySemanticScholarID", "semanticScholarID", semanticScholarID);
 	}
 
 	/**
@@ -138,13 +169,21 @@ public class PersonJPAAccess implements CommonAccess<Person> {
 	public Person getByFullName( String name ) {
 		if( name == null ) { return null; }
 
-		//Build query string
-		String query = "SELECT c FROM Person c WHERE c.fullName = '"+name.replace("'","''") + "'";
-		logger.info(query);
-		EntityManager entityManager = PersistenceManager.getEntityManager();
+		return getFirst("Person.findByFullName", "fullName", name);
+	}
 
-		//Execute query
-		List<Person> matches = entityManager.createQuery(query).getResultList();
+	/**
+	 * Runs a named lookup query with one parameter, only the first match is loaded
+	 * @param queryName The name of the query, see {@link Person}
+	 * @param parameter The name of the parameter
+	 * @param value The value of the parameter
+	 * @return The first matching person, null if there is none
+	 */
+	private Person getFirst(String queryName, String parameter, String value) {
+		List<Person> matches = PersistenceManager.getEntityManager().createNamedQuery(queryName, Person.class)
+				.setParameter(parameter, value)
+				.setMaxResults(1)
+				.getResultList();
 
 		//If results are found, return them. Otherwise return null
 		return (matches.size() > 0) ? matches.get(0) : null;
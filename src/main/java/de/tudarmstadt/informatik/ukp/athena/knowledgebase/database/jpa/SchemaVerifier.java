@@ -0,0 +1,191 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Checks at startup whether the indexes the lookups of the *JPAAccess classes rely on exist and logs a report, as a missing one
+ * means a full table scan for every lookup. The indexes declared on the models with {@link Index} are created by hbm2ddl.
+ * Columns that are too long to be indexed completely (e.g. the paper title, a varchar(1023)) can't be declared with JPA,
+ * only a prefix of them is indexed. These prefix indexes are created here, if hbm2ddl is allowed to change the schema
+ */
+public class SchemaVerifier {
+	private static Logger logger = LogManager.getLogger(SchemaVerifier.class);
+	/**
+	 * Indexes on a prefix of a column, the prefix is long enough to tell nearly all values apart
+	 */
+	static final List<ExpectedIndex> PREFIX_INDEXES = Arrays.asList(
+			new ExpectedIndex("paper", "paper_title", "title", 255)
+	);
+
+	private SchemaVerifier() {}
+
+	/**
+	 * Checks the indexes of all entities of the given persistence unit, creates missing prefix indexes and logs the result
+	 * @param entityManagerFactory The factory of the persistence unit to check, non-null
+	 */
+	public static void verify(EntityManagerFactory entityManagerFactory) {
+		ConnectionProvider connectionProvider = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(ConnectionProvider.class);
+		String hbm2ddl = String.valueOf(entityManagerFactory.getProperties().get("hibernate.hbm2ddl.auto"));
+		boolean mayCreate = hbm2ddl.equals("update") || hbm2ddl.startsWith("create");
+		List<Class<?>> models = new ArrayList<>();
+		Connection connection = null;
+
+		entityManagerFactory.getMetamodel().getEntities().forEach(type -> models.add(type.getJavaType()));
+
+		try {
+			List<ExpectedIndex> indexes = getExpectedIndexes(models);
+			int missing = 0;
+
+			connection = connectionProvider.getConnection();
+
+			for(ExpectedIndex index : indexes) {
+				boolean exists = exists(connection, index);
+
+				if(!exists && index.prefixLength > 0 && mayCreate && supportsPrefixIndexes(connection)) {
+					create(connection, index);
+					exists = true;
+				}
+
+				if(exists)
+					logger.info("Index {} on {} found", index.name, index);
+				else {
+					missing++;
+					logger.warn("Index {} on {} is missing, lookups by it scan the whole table", index.name, index);
+				}
+			}
+
+			logger.info("Schema verification done, {} of {} expected indexes missing", missing, indexes.size());
+		}
+		catch(SQLException e) {
+			logger.warn("Could not verify the indexes of the database", e);
+		}
+		finally {
+			if(connection != null) {
+				try {
+					connectionProvider.closeConnection(connection);
+				}
+				catch(SQLException e) {
+					logger.warn("Could not close the connection used to verify the indexes", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects the indexes that should exist for the given models
+	 * @param models The model classes, non-null
+	 * @return The indexes declared on the models' tables and the prefix indexes of the models' tables
+	 */
+	static List<ExpectedIndex> getExpectedIndexes(Collection<Class<?>> models) {
+		List<ExpectedIndex> indexes = new ArrayList<>();
+
+		for(Class<?> model : models) {
+			Table table = model.getAnnotation(Table.class);
+
+			if(table == null)
+				continue;
+
+			for(Index index : table.indexes()) {
+				indexes.add(new ExpectedIndex(table.name(), index.name(), index.columnList(), 0));
+			}
+
+			for(ExpectedIndex index : PREFIX_INDEXES) {
+				if(index.table.equals(table.name()))
+					indexes.add(index);
+			}
+		}
+
+		return indexes;
+	}
+
+	/**
+	 * Checks whether the given index exists, either by its name or as another index starting with the same column
+	 * @param connection The connection to the database, non-null
+	 * @param index The index to look for, non-null
+	 * @return true if the index exists
+	 * @throws SQLException If the indexes could not be read
+	 */
+	private static boolean exists(Connection connection, ExpectedIndex index) throws SQLException {
+		String firstColumn = index.columns.split(",")[0].trim();
+
+		try(ResultSet result = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, index.table, false, true)) {
+			while(result.next()) {
+				if(index.name.equalsIgnoreCase(result.getString("INDEX_NAME")) || (result.getShort("ORDINAL_POSITION") == 1 && firstColumn.equalsIgnoreCase(result.getString("COLUMN_NAME"))))
+					return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @param connection The connection to the database, non-null
+	 * @return true if the database understands MySQL's prefix index syntax, e.g. MariaDB
+	 * @throws SQLException If the database could not be determined
+	 */
+	private static boolean supportsPrefixIndexes(Connection connection) throws SQLException {
+		String database = connection.getMetaData().getDatabaseProductName().toLowerCase();
+
+		return database.contains("mysql") || database.contains("mariadb");
+	}
+
+	/**
+	 * Creates a prefix index
+	 * @param connection The connection to the database, non-null
+	 * @param index The index to create, non-null
+	 * @throws SQLException If the index could not be created
+	 */
+	private static void create(Connection connection, ExpectedIndex index) throws SQLException {
+		try(Statement statement = connection.createStatement()) {
+			statement.execute("CREATE INDEX " + index.name + " ON " + index); //only constants, no user input
+			logger.info("Created index {} on {}", index.name, index);
+		}
+	}
+
+	/**
+	 * An index that should exist in the database
+	 */
+	static class ExpectedIndex {
+		final String table;
+		final String name;
+		final String columns;
+		final int prefixLength;
+
+		/**
+		 * @param table The name of the table
+		 * @param name The name of the index
+		 * @param columns The comma separated columns of the index
+		 * @param prefixLength How many characters of the column are indexed, 0 for the complete columns
+		 */
+		ExpectedIndex(String table, String name, String columns, int prefixLength) {
+			this.table = table;
+			this.name = name;
+			this.columns = columns;
+			this.prefixLength = prefixLength;
+		}
+
+		/**
+		 * @return The table and columns as used in CREATE INDEX, e.g. "paper (title(255))"
+		 */
+		@Override
+		public String toString() {
+			return table + " (" + columns + (prefixLength > 0 ? "(" + prefixLength + ")" : "") + ")";
+		}
+	}
+}
@@ -52,7 +52,7 @@ public class Event extends Model implements ScheduleEntry {
 
 	/* Associated papers */
 	@Hierarchy(entityName="paper")
-	@OneToMany(cascade = { CascadeType.ALL }, fetch = FetchType.EAGER)
+	@OneToMany(cascade = { CascadeType.ALL }, fetch = FetchType.LAZY)
 	@JoinTable(
 			name = "event_papers",
 			joinColumns = { @JoinColumn(name = "eventID") },
@@ -65,7 +65,7 @@ public class Event extends Model implements ScheduleEntry {
 	//	private Set<Paper> papers;
 	/* Event parts, if any */
 	@Hierarchy(entityName="eventpart")
-	@OneToMany(cascade = { CascadeType.ALL }, fetch = FetchType.EAGER)
+	@OneToMany(cascade = { CascadeType.ALL }, fetch = FetchType.LAZY)
 	@JoinTable(
 			name = "event_eventParts",
 			joinColumns = { @JoinColumn(name = "eventID") },
@@ -1,7 +1,11 @@
 package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.persistence.Column;
 import javax.persistence.Id;
@@ -11,6 +15,15 @@ import org.apache.logging.log4j.Logger;
 
 public abstract class Model {
 	private static Logger logger = LogManager.getLogger(Model.class);
+	/**
+	 * The fields of every model class, looked up once per class instead of on every comparison
+	 */
+	private static final ClassValue<ModelFields> fields = new ClassValue<ModelFields>() {
+		@Override
+		protected ModelFields computeValue(Class<?> type) {
+			return new ModelFields(type);
+		}
+	};
 
 	/**
 	 * This method compares all fields of the given models with this model, except all fields containing ID and all fields referencing other models. Null is seen
@@ -24,28 +37,19 @@ public abstract class Model {
 
 		if (!this.getClass().equals(model.getClass())) return false; //Different classes can't be equal
 
-		Field fields[] = getAllFields(this);
-
-		for (Field field : fields) {
-			boolean wasAccessible= field.isAccessible();
-			if(!wasAccessible) field.setAccessible(true);
-			if(!field.getName().contains("ID") && field.getAnnotation(Column.class)!=null) {//Field is not ID and information is stored in object, because it's a column
-				//Start checking equality
-				try {
-					if(field.get(this)==null) {
-						if(!(field.get(model) == null)) { //Both are null? => equal
-							if(!wasAccessible) field.setAccessible(false);
-							return false;//One of the fields is not null
-						}
-					}else if(!(field.get(this).equals(field.get(model)))) {//
-						if(!wasAccessible) field.setAccessible(false);
-						return false;//fields are not equal values
-					}
-				} catch (IllegalArgumentException | IllegalAccessException e) {
-					logger.fatal("This should never be reached...", e);
+		for (MethodHandle column : fields.get(getClass()).columns) {
+			try {
+				Object value = (Object) column.invokeExact(this);
+				Object otherValue = (Object) column.invokeExact((Model) model);
+
+				if(value == null) {
+					if(otherValue != null) return false;//One of the fields is not null
+				}else if(!value.equals(otherValue)) {
+					return false;//fields are not equal values
 				}
+			} catch (Throwable e) {
+				logger.fatal("This should never be reached...", e);
 			}
-			if(!wasAccessible) field.setAccessible(false);
 		}
 		return true;
 	}
@@ -61,73 +65,37 @@ public abstract class Model {
 
 		if (!this.getClass().equals(model.getClass())) return false; //Different classes can't be equal
 
-		Field fields[] = getAllFields(this);
-
-		for (Field field : fields) {
-			boolean wasAccessible= field.isAccessible();
-			if(!wasAccessible) field.setAccessible(true);
-			if(!field.getName().contains("ID") && field.getAnnotation(Column.class)!=null) {//Field is not ID and information is stored in object, because it's a column
-				//Start checking equality
-				try {
-					if(field.get(this) != null && field.get(model) != null) {// is one value null
-						if(!(field.get(this).equals(field.get(model)))) {
-							if(!wasAccessible) field.setAccessible(false);
-							return false;// values are not equal
-						}
-					}
-				} catch (IllegalArgumentException | IllegalAccessException e) {
-					logger.fatal("This should never be reached...", e);
+		for (MethodHandle column : fields.get(getClass()).columns) {
+			try {
+				Object value = (Object) column.invokeExact(this);
+				Object otherValue = (Object) column.invokeExact((Model) model);
+
+				if(value != null && otherValue != null && !value.equals(otherValue)) {
+					return false;// values are not equal
 				}
+			} catch (Throwable e) {
+				logger.fatal("This should never be reached...", e);
 			}
-			if(!wasAccessible) field.setAccessible(false);
 		}
 		return true;
 	}
 
-	/**
-	 * Returns all fields of this class and its superclasses, up to the class "Model"
-	 *
-	 * @param model A model or a class which extends {@link de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Model Model}
-	 * @return All fields declared in the class hierarchy between the given object and model
-	 */
-	private Field[] getAllFields(Model model) {
-		ArrayList<Field> returnValue = new ArrayList<>();
-		Class<? extends Model> currentClass = model.getClass();
-		while (!currentClass.getName().endsWith(".Model")) {
-			Field[] fields = currentClass.getDeclaredFields();
-			for (Field field : fields) {
-				returnValue.add(field);
-			}
-			currentClass = (Class<? extends Model>) currentClass.getSuperclass();
-		}
-		Field[] returnArray = new Field[returnValue.size()];
-		returnValue.toArray(returnArray);
-		return returnArray;
-	}
-
 	/**
 	 * Return the value of the field which is annotated as ID in this model
 	 *
 	 * @return the Id of this object, null if none found
 	 */
 	public Object getID() {
-		Field[] fields = this.getClass().getDeclaredFields();
-		for (Field field : fields) {
-			boolean wasAccessible= field.isAccessible();
-			if(!wasAccessible) field.setAccessible(true);
-			if(field.getAnnotation(Id.class) != null) {
-				Object returnValue = null;
-				try {
-					returnValue = field.get(this);
-				} catch (IllegalArgumentException | IllegalAccessException e) {
-					logger.fatal("getId should check this, contact developer", e);
-				}
-				if(!wasAccessible) field.setAccessible(false);
-				return returnValue;
-			}
-			if(!wasAccessible) field.setAccessible(false);
+		MethodHandle id = fields.get(getClass()).id;
+
+		if(id == null) return null;
+
+		try {
+			return (Object) id.invokeExact(this);
+		} catch (Throwable e) {
+			logger.fatal("getId should check this, contact developer", e);
+			return null;
 		}
-		return null;
 	}
 
 	/**
@@ -147,4 +115,52 @@ public abstract class Model {
 		return changed;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Getters for the fields of a model class which are compared by {@link Model#equalsWithoutID(Object)} and {@link Model#equalsNullAsWildcard(Object)}
+	 * and for its ID. Looking them up, making them accessible and checking their annotations happens once per class, reading a value afterwards is about as cheap as a normal getter
+	 */
+	private static class ModelFields {
+		/**
+		 * Getters of all columns of the class and its superclasses up to Model, except the ones containing ID
+		 */
+		private final MethodHandle[] columns;
+		/**
+		 * Getter of the field declared in the class itself which is annotated as ID, null if there is none
+		 */
+		private final MethodHandle id;
+
+		/**
+		 * @param type A class which extends {@link Model}
+		 */
+		private ModelFields(Class<?> type) {
+			List<MethodHandle> columnGetters = new ArrayList<>();
+			MethodHandle idGetter = null;
+
+			for(Class<?> currentClass = type; currentClass != Model.class && currentClass != null; currentClass = currentClass.getSuperclass()) {
+				for(Field field : currentClass.getDeclaredFields()) {
+					if(!field.getName().contains("ID") && field.getAnnotation(Column.class) != null)//Field is not ID and information is stored in object, because it's a column
+						columnGetters.add(getter(field));
+
+					if(currentClass == type && idGetter == null && field.getAnnotation(Id.class) != null)
+						idGetter = getter(field);
+				}
+			}
+
+			columns = columnGetters.toArray(new MethodHandle[columnGetters.size()]);
+			id = idGetter;
+		}
+
+		/**
+		 * @param field A field of a model class
+		 * @return A getter of the field, which takes a Model and returns the (boxed) value as Object
+		 */
+		private static MethodHandle getter(Field field) {
+			try {
+				field.setAccessible(true);
+				return MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(Object.class, Model.class));
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException("Can't read field " + field, e); //setAccessible succeeded, so this should never happen
+			}
+		}
+	}
+}
@@ -12,7 +12,10 @@ import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToMany;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.Table;
 
 import org.hibernate.annotations.GenericGenerator;
@@ -22,7 +25,15 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PaperJPAAccess;
 
 @Entity
-@Table(name="paper")
+@Table(name="paper", indexes = { //the columns the crawlers look up papers by when deduplicating them, the title is indexed by the SchemaVerifier
+		@Index(name = "paper_semanticScholarID", columnList = "semanticScholarID"),
+		@Index(name = "paper_anthology", columnList = "anthology")
+})
+@NamedQueries({ //the lookups of the PaperJPAAccess, compiled once at startup and with bound parameters so the driver can reuse the statements
+		@NamedQuery(name = "Paper.findBySemanticScholarID", query = "SELECT c FROM Paper c WHERE c.semanticScholarID = :semanticScholarID"),
+		@NamedQuery(name = "Paper.findByTitle", query = "SELECT c FROM Paper c WHERE c.title = :title"),
+		@NamedQuery(name = "Paper.findBySemanticScholarIDAndTitle", query = "SELECT c FROM Paper c WHERE c.semanticScholarID = :semanticScholarID AND c.title = :title")
+})
 public class Paper extends Model {
 	/*Identifier*/
 	@Id
@@ -40,7 +51,7 @@ public class Paper extends Model {
 	/*Paper's authors*/
 	@Hierarchy(entityName="person")
 	@JsonIgnore //fixes infinite recursion
-	@ManyToMany(cascade = { CascadeType.ALL }, mappedBy = "papers", fetch = FetchType.EAGER)
+	@ManyToMany(cascade = { CascadeType.ALL }, mappedBy = "papers", fetch = FetchType.LAZY)
 	private Set<Person> persons = new HashSet<>();
 
 	/*Release date*/
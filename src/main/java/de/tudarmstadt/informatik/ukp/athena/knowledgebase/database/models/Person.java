@@ -14,10 +14,13 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.Table;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -28,7 +31,15 @@ import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.PersonJPA
  * @author Tristan Wettich, Philipp Emmer
  */
 @Entity
-@Table(name = "person")
+@Table(name = "person", indexes = { //the columns the crawlers look up persons by when deduplicating them
+		@Index(name = "person_fullName", columnList = "fullName"),
+		@Index(name = "person_semanticScholarID", columnList = "semanticScholarID")
+})
+@NamedQueries({ //the lookups of the PersonJPAAccess, compiled once at startup and with bound parameters so the driver can reuse the statements
+		@NamedQuery(name = "Person.findBySemanticScholarID", query = "SELECT c FROM Person c WHERE c.semanticScholarID = :semanticScholarID"),
+		@NamedQuery(name = "Person.findByFullName", query = "SELECT c FROM Person c WHERE c.fullName = :fullName"),
+		@NamedQuery(name = "Person.findBySemanticScholarIDAndFullName", query = "SELECT c FROM Person c WHERE c.semanticScholarID = :semanticScholarID AND c.fullName = :fullName")
+})
 public class Person extends Model {
 	/*Unique id*/
 	@Id
@@ -58,7 +69,7 @@ public class Person extends Model {
 	/*Written papers*/
 	@Hierarchy(entityName="paper")
 	@JsonIgnore //fixes infinite recursion
-	@ManyToMany(cascade = { CascadeType.ALL }, fetch = FetchType.EAGER)
+	@ManyToMany(cascade = { CascadeType.ALL }, fetch = FetchType.LAZY)
 	@JoinTable(
 			name = "author_paper",
 			joinColumns = { @JoinColumn(name = "authorID") },
@@ -45,7 +45,7 @@ public class Workshop extends Model implements ScheduleEntry {
 	private String place;
 	/*Basically the schedule. Might be empty since not all workshops provide an easily scrapable schedule*/
 	@Hierarchy(entityName="event")
-	@OneToMany(cascade = { CascadeType.ALL }, fetch = FetchType.EAGER)
+	@OneToMany(cascade = { CascadeType.ALL }, fetch = FetchType.LAZY)
 	@JoinTable(
 			name = "workshop_event",
 			joinColumns = { @JoinColumn(name = "workshopID") },
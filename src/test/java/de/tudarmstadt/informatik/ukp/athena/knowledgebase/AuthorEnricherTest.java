@@ -0,0 +1,72 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AuthorEnricherTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testCheckpoint() {
+		Path checkpoint = folder.getRoot().toPath().resolve("enrich.checkpoint");
+
+		assertEquals(0, AuthorEnricher.readCheckpoint(checkpoint));
+		AuthorEnricher.writeCheckpoint(checkpoint, 150);
+		assertEquals(150, AuthorEnricher.readCheckpoint(checkpoint));
+		AuthorEnricher.writeCheckpoint(checkpoint, 200);
+		assertEquals(200, AuthorEnricher.readCheckpoint(checkpoint));
+		AuthorEnricher.deleteCheckpoint(checkpoint);
+		assertFalse(Files.exists(checkpoint));
+		assertEquals(0, AuthorEnricher.readCheckpoint(checkpoint));
+	}
+
+	@Test
+	public void testInvalidCheckpoint() throws IOException {
+		Path checkpoint = folder.newFile("enrich.checkpoint").toPath();
+
+		Files.write(checkpoint, "not an id".getBytes(StandardCharsets.UTF_8));
+		assertEquals(0, AuthorEnricher.readCheckpoint(checkpoint));
+	}
+
+	@Test
+	public void testNoCheckpointFile() {
+		AuthorEnricher.writeCheckpoint(null, 150);
+		AuthorEnricher.deleteCheckpoint(null);
+		assertEquals(0, AuthorEnricher.readCheckpoint(null));
+	}
+
+	@Test
+	public void testCheckpointStopsAtFailedBatch() throws InterruptedException {
+		Path checkpoint = folder.getRoot().toPath().resolve("enrich.checkpoint");
+		AuthorEnricher enricher = new AuthorEnricher(2, 50, checkpoint);
+		CompletableFuture<Boolean> crashed = new CompletableFuture<>();
+
+		crashed.completeExceptionally(new IllegalStateException("worker crashed"));
+		enricher.finish(new AuthorEnricher.Batch(CompletableFuture.completedFuture(true), 50));
+		assertEquals(50, AuthorEnricher.readCheckpoint(checkpoint));
+		enricher.finish(new AuthorEnricher.Batch(CompletableFuture.completedFuture(false), 100));
+		enricher.finish(new AuthorEnricher.Batch(CompletableFuture.completedFuture(true), 150));
+		assertEquals(50, AuthorEnricher.readCheckpoint(checkpoint));
+
+		enricher = new AuthorEnricher(2, 50, checkpoint);
+		enricher.finish(new AuthorEnricher.Batch(crashed, 100));
+		enricher.finish(new AuthorEnricher.Batch(CompletableFuture.completedFuture(true), 150));
+		assertEquals(50, AuthorEnricher.readCheckpoint(checkpoint));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidThreads() {
+		new AuthorEnricher(0, 50, null);
+	}
+}
@@ -0,0 +1,58 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class CircuitBreakerTest {
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	public void testOpensAfterThreshold() {
+		CircuitBreaker breaker = new CircuitBreaker(3, 10000);
+
+		assertFalse(breaker.recordFailure(0));
+		assertFalse(breaker.recordFailure(0));
+		assertEquals(0, breaker.getRemainingNanos(0));
+		assertTrue(breaker.recordFailure(0));
+		assertEquals(10 * SECOND, breaker.getRemainingNanos(0));
+		assertEquals(4 * SECOND, breaker.getRemainingNanos(6 * SECOND));
+		assertEquals(0, breaker.getRemainingNanos(20 * SECOND));
+	}
+
+	@Test
+	public void testFailuresWhileOpenDontExtend() {
+		CircuitBreaker breaker = new CircuitBreaker(1, 10000);
+
+		assertTrue(breaker.recordFailure(0));
+		assertFalse(breaker.recordFailure(5 * SECOND));
+		assertEquals(5 * SECOND, breaker.getRemainingNanos(5 * SECOND));
+	}
+
+	@Test
+	public void testFailureAfterPauseReopens() {
+		CircuitBreaker breaker = new CircuitBreaker(3, 10000);
+
+		breaker.recordFailure(0);
+		breaker.recordFailure(0);
+		breaker.recordFailure(0);
+		assertTrue(breaker.recordFailure(11 * SECOND)); //the first request after the pause failed as well
+		assertEquals(10 * SECOND, breaker.getRemainingNanos(11 * SECOND));
+	}
+
+	@Test
+	public void testSuccessCloses() {
+		CircuitBreaker breaker = new CircuitBreaker(2, 10000);
+
+		breaker.recordFailure(0);
+		breaker.recordSuccess();
+		assertFalse(breaker.recordFailure(0));
+		breaker.recordFailure(0);
+		breaker.recordSuccess();
+		assertEquals(0, breaker.getRemainingNanos(0));
+	}
+}
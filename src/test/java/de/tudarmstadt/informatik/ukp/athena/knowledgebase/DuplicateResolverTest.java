@@ -0,0 +1,120 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Model;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Paper;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
+
+public class DuplicateResolverTest {
+	private final Set<Model> saved = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	@Test
+	public void testUsesSavedPaper() {
+		Person author = saved(person("Author", null));
+		Paper existing = saved(paper("Some Paper", "p1"));
+		Paper created = paper("some  paper", null);
+
+		Model.connectAuthorPaper(author, created);
+		resolver(existing, null).resolve(author);
+
+		assertEquals(Collections.singleton(existing), author.getPapers());
+		assertTrue(existing.getAuthors().contains(author));
+	}
+
+	@Test
+	public void testMergesNewDuplicates() {
+		Person author = saved(person("Author", null));
+		Paper first = paper("Some Paper", null);
+		Paper second = paper("SOME PAPER", null);
+		Person coAuthor = person("Co Author", "a1");
+		Person sameCoAuthor = person("C. Author", "a1");
+
+		Model.connectAuthorPaper(author, first);
+		Model.connectAuthorPaper(coAuthor, first);
+		second.setAmountOfCitations(5L); //so it is not equal to the first one
+		Model.connectAuthorPaper(author, second);
+		Model.connectAuthorPaper(sameCoAuthor, second);
+		resolver(null, null).resolve(author);
+
+		assertEquals(1, author.getPapers().size());
+
+		Paper kept = author.getPapers().iterator().next();
+
+		assertEquals(2, kept.getAuthors().size());
+		assertTrue(kept.getAuthors().contains(author));
+		assertTrue(kept.getAuthors().contains(coAuthor) ^ kept.getAuthors().contains(sameCoAuthor));
+	}
+
+	@Test
+	public void testUsesSavedCoAuthor() {
+		Person author = saved(person("Author", null));
+		Person existing = saved(person("Co Author", "a1"));
+		Person created = person("Someone Else", "a1");
+		Paper paper = paper("New Paper", null);
+
+		Model.connectAuthorPaper(author, paper);
+		Model.connectAuthorPaper(created, paper);
+		author.setTop5influenced(Arrays.asList(created));
+		resolver(null, existing).resolve(author);
+
+		assertTrue(paper.getAuthors().contains(existing));
+		assertFalse(paper.getAuthors().contains(created));
+		assertTrue(existing.getPapers().contains(paper));
+		assertEquals(Arrays.asList(existing), author.getTop5influenced());
+	}
+
+	@Test
+	public void testKeepsNewEntities() {
+		Person author = saved(person("Author", null));
+		Paper created = paper("New Paper", null);
+
+		Model.connectAuthorPaper(author, created);
+		resolver(null, null).resolve(author);
+
+		assertEquals(Collections.singleton(created), author.getPapers());
+	}
+
+	/**
+	 * @param paper The paper the lookup finds, null for none
+	 * @param person The person the lookup finds, null for none
+	 * @return A resolver that treats every entity that was not marked as saved as new
+	 */
+	private DuplicateResolver resolver(Paper paper, Person person) {
+		return new DuplicateResolver(model -> !saved.contains(model), toFind -> paper, toFind -> person);
+	}
+
+	/**
+	 * @param model An entity
+	 * @return The entity, which is now treated as saved
+	 */
+	private <T extends Model> T saved(T model) {
+		saved.add(model);
+		return model;
+	}
+
+	private static Paper paper(String title, String semanticScholarID) {
+		Paper paper = new Paper();
+
+		paper.setTitle(title);
+		paper.setSemanticScholarID(semanticScholarID);
+		return paper;
+	}
+
+	private static Person person(String fullName, String semanticScholarID) {
+		Person person = new Person();
+
+		person.setFullName(fullName);
+		person.setSemanticScholarID(semanticScholarID);
+		return person;
+	}
+}
@@ -0,0 +1,103 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class HostRateLimiterTest {
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	public void testBurstIsFree() {
+		HostRateLimiter limiter = new HostRateLimiter(2, 2);
+
+		assertEquals(0, limiter.reserve("example.org", 0));
+		assertEquals(0, limiter.reserve("example.org", 0));
+		assertEquals(SECOND / 2, limiter.reserve("example.org", 0));
+		assertEquals(SECOND, limiter.reserve("example.org", 0)); //queued behind the previous caller
+	}
+
+	@Test
+	public void testRefill() {
+		HostRateLimiter limiter = new HostRateLimiter(2, 1);
+
+		assertEquals(0, limiter.reserve("example.org", 0));
+		assertEquals(SECOND / 2, limiter.reserve("example.org", 0));
+		assertEquals(0, limiter.reserve("example.org", 10 * SECOND)); //refilled, but not above the burst size
+		assertEquals(SECOND / 2, limiter.reserve("example.org", 10 * SECOND));
+	}
+
+	@Test
+	public void testHostsAreIndependent() {
+		HostRateLimiter limiter = new HostRateLimiter(1, 1);
+
+		assertEquals(0, limiter.reserve("example.org", 0));
+		assertEquals(0, limiter.reserve("example.com", 0));
+	}
+
+	@Test
+	public void testPause() {
+		HostRateLimiter limiter = new HostRateLimiter(2, 2);
+
+		limiter.pause("example.org", 3000, 0);
+		assertEquals(3 * SECOND + SECOND / 2, limiter.reserve("example.org", 0));
+	}
+
+	@Test
+	public void testPausesDontAddUp() {
+		HostRateLimiter limiter = new HostRateLimiter(2, 2);
+
+		limiter.pause("example.org", 3000, 0);
+		limiter.pause("example.org", 1000, 0); //shorter than the current pause
+		limiter.pause("example.org", 3000, 0);
+		assertEquals(3 * SECOND + SECOND / 2, limiter.reserve("example.org", 0));
+	}
+
+	@Test
+	public void testWaitingCallersWaitForPause() {
+		HostRateLimiter limiter = new HostRateLimiter(2, 2);
+
+		assertEquals(0, limiter.reserve("example.org", 0));
+		assertEquals(0, limiter.reserve("example.org", 0));
+		assertEquals(SECOND / 2, limiter.reserve("example.org", 0)); //already waiting when the pause starts
+		limiter.pause("example.org", 3000, SECOND / 10);
+		assertTrue(limiter.reserveAfterPause("example.org", SECOND / 2) >= 3 * SECOND + SECOND / 10 - SECOND / 2);
+		assertEquals(0, limiter.reserveAfterPause("example.org", 4 * SECOND)); //the pause is over
+	}
+
+	@Test
+	public void testConcurrentPauses() throws InterruptedException {
+		HostRateLimiter limiter = new HostRateLimiter(2, 2);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+
+		for(int i = 0; i < 8; i++) { //all of them got the same Retry-After
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+					limiter.pause("example.org", 3000, 0);
+				}
+				catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+
+			thread.start();
+			threads.add(thread);
+		}
+
+		start.countDown();
+
+		for(Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(3 * SECOND + SECOND / 2, limiter.reserve("example.org", 0));
+	}
+}
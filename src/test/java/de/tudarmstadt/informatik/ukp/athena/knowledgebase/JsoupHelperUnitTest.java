@@ -0,0 +1,44 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.Test;
+
+public class JsoupHelperUnitTest {
+	@Test
+	public void testParseRetryAfterSeconds() {
+		assertEquals(120000, JsoupHelper.parseRetryAfter("120"));
+		assertEquals(0, JsoupHelper.parseRetryAfter("-5"));
+	}
+
+	@Test
+	public void testParseRetryAfterDate() {
+		String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(2));
+		long delay = JsoupHelper.parseRetryAfter(date);
+
+		assertTrue(delay > 60000 && delay <= 120000);
+	}
+
+	@Test
+	public void testParseRetryAfterInvalid() {
+		assertEquals(0, JsoupHelper.parseRetryAfter(null));
+		assertEquals(0, JsoupHelper.parseRetryAfter("soon"));
+	}
+
+	@Test
+	public void testBackoffDelay() {
+		for(int attempt = 0; attempt < 5; attempt++) {
+			long max = 500L << attempt;
+			long delay = JsoupHelper.getBackoffDelay(attempt);
+
+			assertTrue(delay >= max / 2 && delay <= max);
+		}
+
+		assertTrue(JsoupHelper.getBackoffDelay(100) <= 30000);
+	}
+}
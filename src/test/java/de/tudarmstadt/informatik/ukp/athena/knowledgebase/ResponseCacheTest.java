@@ -0,0 +1,63 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResponseCacheTest {
+	private static final String URL = "https://example.org/catalog?page=1";
+	private static final byte[] BODY = "<html><body><p class=\"paper\">Some paper</p></body></html>".getBytes(StandardCharsets.UTF_8);
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testPutAndGet() throws IOException {
+		ResponseCache cache = new ResponseCache(folder.getRoot().toPath(), Duration.ofHours(1), false);
+
+		cache.put(URL, "\"abc\"", "Wed, 21 Oct 2015 07:28:00 GMT", "UTF-8", BODY);
+
+		ResponseCache.Entry entry = cache.get(URL);
+
+		assertEquals("\"abc\"", entry.getETag());
+		assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", entry.getLastModified());
+		assertTrue(entry.isFresh());
+		assertEquals("Some paper", entry.toDocument().select(".paper").text());
+		assertEquals(URL, entry.toDocument().location());
+		assertEquals(new String(BODY, StandardCharsets.UTF_8), new String(entry.getBody(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testMissingEntry() throws IOException {
+		ResponseCache cache = new ResponseCache(folder.getRoot().toPath(), Duration.ofHours(1), false);
+
+		assertNull(cache.get(URL));
+	}
+
+	@Test
+	public void testOutdatedEntry() throws IOException {
+		ResponseCache cache = new ResponseCache(folder.getRoot().toPath(), Duration.ZERO, false);
+
+		cache.put(URL, null, null, null, BODY);
+		assertFalse(cache.get(URL).isFresh());
+		assertNull(cache.get(URL).getETag());
+	}
+
+	@Test
+	public void testOfflineIgnoresAge() throws IOException {
+		new ResponseCache(folder.getRoot().toPath(), Duration.ZERO, false).put(URL, null, null, null, BODY);
+
+		ResponseCache offlineCache = new ResponseCache(folder.getRoot().toPath(), Duration.ZERO, true);
+
+		assertTrue(offlineCache.isOffline());
+		assertTrue(offlineCache.get(URL).isFresh());
+	}
+}
@@ -0,0 +1,76 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
+
+public class EnhanceJobTest {
+	@Test
+	public void testProgress() {
+		EnhanceJob job = new EnhanceJob("paper", 3, 2);
+
+		job.succeeded();
+		job.failed(42L, "not found on Semantic Scholar");
+		job.batchDone();
+		assertEquals("running", job.getStatus());
+		assertNull(job.getFinished());
+		job.succeeded();
+		job.batchDone();
+		assertEquals("done", job.getStatus());
+		assertNotNull(job.getFinished());
+		assertEquals(2, job.getSucceeded());
+		assertEquals(1, job.getFailed());
+		assertEquals(Arrays.asList("42: not found on Semantic Scholar"), job.getFailures());
+	}
+
+	@Test
+	public void testEmptyJobIsDone() {
+		assertEquals("done", new EnhanceJob("person", 0, 0).getStatus());
+	}
+
+	@Test
+	public void testEnhancesEntitiesOnce() {
+		Person first = person(1);
+		Person second = person(2);
+
+		assertEquals(Arrays.asList(2L, 1L), EnhanceJobs.getIDs(Arrays.asList(second, first, second, first, first)));
+	}
+
+	@Test
+	public void testEvictsOnlyFinishedJobs() {
+		Map<String,EnhanceJob> jobs = new LinkedHashMap<>();
+		EnhanceJob running = new EnhanceJob("paper", 10, 1);
+		EnhanceJob oldest = new EnhanceJob("paper", 0, 0);
+		EnhanceJob newest = new EnhanceJob("paper", 0, 0);
+
+		jobs.put(running.getId(), running);
+		jobs.put(oldest.getId(), oldest);
+		jobs.put(newest.getId(), newest);
+		EnhanceJobs.evictFinished(jobs, 1);
+		assertEquals(2, jobs.size());
+		assertTrue(jobs.containsKey(running.getId()));
+		assertTrue(jobs.containsKey(newest.getId()));
+		EnhanceJobs.evictFinished(jobs, 0);
+		assertEquals(Arrays.asList(running), Arrays.asList(jobs.values().toArray()));
+	}
+
+	/**
+	 * @param id The ID of the person
+	 * @return A person with the given ID
+	 */
+	private static Person person(long id) {
+		Person person = new Person();
+
+		person.setPersonID(id);
+		return person;
+	}
+}
@@ -0,0 +1,40 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Conference;
+
+public class QueryBuilderTest {
+	@Test
+	public void testDistinctRowCount() {
+		Conference first = new Conference();
+		Conference second = new Conference();
+		List<Conference> rows = new ArrayList<>();
+
+		rows.addAll(Collections.nCopies(3, first)); //a fetch join returns a row for each of the three events
+		rows.addAll(Collections.nCopies(2, second));
+
+		List<Object> results = QueryBuilder.distinct(rows);
+
+		assertEquals(2, results.size());
+		assertSame(first, results.get(0));
+		assertSame(second, results.get(1));
+	}
+
+	@Test
+	public void testDistinctKeepsOrder() {
+		Conference first = new Conference();
+		Conference second = new Conference();
+
+		assertEquals(Arrays.asList(second, first), QueryBuilder.distinct(Arrays.asList(second, first, second, first)));
+		assertEquals(Collections.emptyList(), QueryBuilder.distinct(Collections.emptyList()));
+	}
+}
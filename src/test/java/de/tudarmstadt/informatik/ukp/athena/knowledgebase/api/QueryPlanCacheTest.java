@@ -0,0 +1,69 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.exception.SyntaxException;
+
+public class QueryPlanCacheTest {
+	@Test
+	public void testShapeIgnoresValues() throws SyntaxException {
+		assertEquals(QueryPlanCache.getShape(parse("/paper:title=Some+Paper&releaseDate=2018+1+1")), QueryPlanCache.getShape(parse("/paper:title=Another&releaseDate=2017+12+31")));
+		assertEquals("NONE/paper:title=s&releaseDate=n3/person", QueryPlanCache.getShape(parse("/paper:title=Some+Paper&releaseDate=2018+1+1/person")));
+	}
+
+	@Test
+	public void testShapeDiffers() throws SyntaxException {
+		assertNotEquals(QueryPlanCache.getShape(parse("/paper:title=X")), QueryPlanCache.getShape(parse("/paper:topic=X")));
+		assertNotEquals(QueryPlanCache.getShape(parse("/paper:title=X")), QueryPlanCache.getShape(parse("/count/paper:title=X")));
+		assertNotEquals(QueryPlanCache.getShape(parse("/paper:releaseDate=2018+1+1")), QueryPlanCache.getShape(parse("/paper:releaseDate=2018")));
+		assertNotEquals(QueryPlanCache.getShape(parse("/paper$limit=10")), QueryPlanCache.getShape(parse("/paper$limit=10&cursor=c2s")));
+		assertNotEquals(QueryPlanCache.getShape(parse("/paper$fields=title")), QueryPlanCache.getShape(parse("/paper$fields=releaseDate")));
+	}
+
+	@Test
+	public void testShapeIgnoresPagingValues() throws SyntaxException {
+		assertEquals(QueryPlanCache.getShape(parse("/paper$limit=10&cursor=c2s")), QueryPlanCache.getShape(parse("/paper$limit=50&cursor=c1a")));
+		assertEquals("NONE/paper:title=s$limit&offset&fields=title+releaseDate", QueryPlanCache.getShape(parse("/paper:title=X$limit=10&offset=20&fields=title+releaseDate")));
+	}
+
+	@Test
+	public void testGetAndPut() throws SyntaxException {
+		QueryPlanCache cache = new QueryPlanCache(2);
+		QueryPlanCache.QueryPlan plan = new QueryPlanCache.QueryPlan("SELECT pa FROM Paper pa", "paper");
+
+		assertNull(cache.get(parse("/paper")));
+		cache.put(parse("/paper"), plan);
+		assertSame(plan, cache.get(parse("/paper")));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsRemoved() throws SyntaxException {
+		QueryPlanCache cache = new QueryPlanCache(2);
+
+		cache.put(parse("/paper"), new QueryPlanCache.QueryPlan("paper", "paper"));
+		cache.put(parse("/person"), new QueryPlanCache.QueryPlan("person", "person"));
+		cache.get(parse("/paper")); //person is now the least recently used
+		cache.put(parse("/event"), new QueryPlanCache.QueryPlan("event", "event"));
+		assertNull(cache.get(parse("/person")));
+		assertEquals("paper", cache.get(parse("/paper")).getJPQL());
+	}
+
+	private RequestNode parse(String request) throws SyntaxException {
+		return new RequestParser(new RequestScanner(request).scan()).parse();
+	}
+
+	@Test
+	public void testShapeContainsOperators() throws SyntaxException {
+		assertEquals("NONE/paper:releaseDate>=n3&title<s", QueryPlanCache.getShape(parse("/paper:releaseDate>=2018+1+1&title<B")));
+		assertEquals("NONE/paper:releaseDate=n3..n3&title=s,s&topic=l", QueryPlanCache.getShape(parse("/paper:releaseDate=2018+1+1..2019+1+1&title=A,B&topic=Deep*")));
+		assertNotEquals(QueryPlanCache.getShape(parse("/paper:title=A")), QueryPlanCache.getShape(parse("/paper:title=A*")));
+	}
+}
@@ -5,6 +5,9 @@ import static org.junit.Assert.fail;
 
 import org.junit.Test;
 
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.AttributeNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.AttributeOperator;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.ListAttributeNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.NumberAttributeNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.NumberNode;
 import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestEntityNode;
@@ -320,4 +323,168 @@ public class RequestParserTest {
 	public void testEscapeWrongPosition3() throws SyntaxException {
 		new RequestParser(new RequestScanner("`/paper:title=Testing").scan()).parse();
 	}
+
+	@Test
+	public void testParseOptions() {
+		try {
+			RequestNode actual = new RequestParser(new RequestScanner("/paper$limit=10&offset=20&cursor=c2s&fields=title+releaseDate").scan()).parse();
+			RequestNode expected = new RequestNode(0);
+
+			RequestHierarchyNode theOneAndOnly = new RequestHierarchyNode(0);
+			RequestEntityNode entityNode = new RequestEntityNode(1);
+			StringNode entityNodeName = new StringNode(1);
+			NumberNode limit = new NumberNode(13);
+			NumberNode offset = new NumberNode(23);
+			StringNode cursor = new StringNode(33);
+			StringNode titleField = new StringNode(44);
+			StringNode releaseDateField = new StringNode(44);
+
+			limit.setNumber(10);
+			offset.setNumber(20);
+			cursor.setString("c2s");
+			titleField.setString("title");
+			releaseDateField.setString("releaseDate");
+			entityNodeName.setString("paper");
+			entityNode.setEntityName(entityNodeName);
+			theOneAndOnly.setEntity(entityNode);
+			expected.addHierarchyNode(theOneAndOnly);
+			expected.setLimit(limit);
+			expected.setOffset(offset);
+			expected.setCursor(cursor);
+			expected.addField(titleField);
+			expected.addField(releaseDateField);
+			assertEquals("ASTs are not the same!", expected, actual);
+		}
+		catch(SyntaxException e) {
+			fail("Syntactically correct request shouldn't throw a syntax exception");
+		}
+	}
+
+	@Test(expected=SyntaxException.class)
+	public void testUnknownOption() throws SyntaxException {
+		new RequestParser(new RequestScanner("/paper:title=Testing$order=title").scan()).parse();
+	}
+
+	@Test(expected=SyntaxException.class)
+	public void testStringLimit() throws SyntaxException {
+		new RequestParser(new RequestScanner("/paper$limit=ten").scan()).parse();
+	}
+
+	@Test(expected=SyntaxException.class)
+	public void testOptionsNotAtTheEnd() throws SyntaxException {
+		new RequestParser(new RequestScanner("/paper:title=Testing$limit=10/person").scan()).parse();
+	}
+
+	@Test
+	public void testParseComparison() {
+		try {
+			RequestNode actual = new RequestParser(new RequestScanner("/paper:releaseDate>=2018+1+1&title<B").scan()).parse();
+			RequestNode expected = new RequestNode(0);
+
+			RequestHierarchyNode theOneAndOnly = new RequestHierarchyNode(0);
+			RequestEntityNode entityNode = new RequestEntityNode(1);
+			StringNode entityNodeName = new StringNode(1);
+			NumberAttributeNode releaseDateNode = new NumberAttributeNode(7);
+			StringNode releaseDateNodeName = new StringNode(7);
+			NumberNode year = new NumberNode(20);
+			NumberNode month = new NumberNode(25);
+			NumberNode day = new NumberNode(27);
+			StringAttributeNode titleNode = new StringAttributeNode(29);
+			StringNode titleNodeName = new StringNode(29);
+			StringNode titleVal = new StringNode(35);
+
+			releaseDateNodeName.setString("releaseDate");
+			year.setNumber(2018);
+			month.setNumber(1);
+			day.setNumber(1);
+			releaseDateNode.setName(releaseDateNodeName);
+			releaseDateNode.addNumber(year);
+			releaseDateNode.addNumber(month);
+			releaseDateNode.addNumber(day);
+			releaseDateNode.setOperator(AttributeOperator.GREATER_EQUAL);
+			titleNodeName.setString("title");
+			titleVal.setString("B");
+			titleNode.setName(titleNodeName);
+			titleNode.setValue(titleVal);
+			titleNode.setOperator(AttributeOperator.LESS);
+			entityNode.addAttributeNode(releaseDateNode);
+			entityNode.addAttributeNode(titleNode);
+			entityNodeName.setString("paper");
+			entityNode.setEntityName(entityNodeName);
+			theOneAndOnly.setEntity(entityNode);
+			expected.addHierarchyNode(theOneAndOnly);
+			assertEquals("ASTs are not the same!", expected, actual);
+		}
+		catch(SyntaxException e) {
+			fail("Syntactically correct request shouldn't throw a syntax exception");
+		}
+	}
+
+	@Test
+	public void testParseRangeAndList() {
+		try {
+			RequestNode actual = new RequestParser(new RequestScanner("/paper:releaseDate=2018+1+1..2019+1+1&title=A,B+C").scan()).parse();
+			AttributeNode range = actual.getHierarchy().get(0).getEntity().getAttributes().get(0);
+			AttributeNode list = actual.getHierarchy().get(0).getEntity().getAttributes().get(1);
+
+			assertEquals("Wrong operator!", AttributeOperator.BETWEEN, range.getOperator());
+			assertEquals("Wrong values!", 2018, ((NumberAttributeNode)((ListAttributeNode)range).getValues().get(0)).getNumbers().get(0).getNumber());
+			assertEquals("Wrong values!", 2019, ((NumberAttributeNode)((ListAttributeNode)range).getValues().get(1)).getNumbers().get(0).getNumber());
+			assertEquals("Wrong operator!", AttributeOperator.IN, list.getOperator());
+			assertEquals("Wrong values!", 2, ((ListAttributeNode)list).getValues().size());
+			assertEquals("Wrong values!", "B C", ((StringAttributeNode)((ListAttributeNode)list).getValues().get(1)).getValue().getString());
+		}
+		catch(SyntaxException e) {
+			fail("Syntactically correct request shouldn't throw a syntax exception");
+		}
+	}
+
+	@Test
+	public void testParseWildcard() {
+		try {
+			RequestNode actual = new RequestParser(new RequestScanner("/paper:title=Deep+*&topic=`%*`!&author=Daniel").scan()).parse();
+			AttributeNode title = actual.getHierarchy().get(0).getEntity().getAttributes().get(0);
+			AttributeNode topic = actual.getHierarchy().get(0).getEntity().getAttributes().get(1);
+			AttributeNode author = actual.getHierarchy().get(0).getEntity().getAttributes().get(2);
+
+			assertEquals("Wrong operator!", AttributeOperator.LIKE, title.getOperator());
+			assertEquals("Wrong pattern!", "Deep %", ((StringAttributeNode)title).getValue().getString());
+			assertEquals("Wrong operator!", AttributeOperator.LIKE, topic.getOperator());
+			assertEquals("Wrong pattern!", "!%%!!", ((StringAttributeNode)topic).getValue().getString()); //escaped characters are escaped in the pattern as well
+			assertEquals("Wrong operator!", AttributeOperator.EQUALS, author.getOperator());
+		}
+		catch(SyntaxException e) {
+			fail("Syntactically correct request shouldn't throw a syntax exception");
+		}
+	}
+
+	@Test(expected=SyntaxException.class)
+	public void testRangeWithThreeValues() throws SyntaxException {
+		new RequestParser(new RequestScanner("/paper:releaseDate=2017..2018..2019").scan()).parse();
+	}
+
+	@Test(expected=SyntaxException.class)
+	public void testMixedRangeAndList() throws SyntaxException {
+		new RequestParser(new RequestScanner("/paper:title=A,B..C").scan()).parse();
+	}
+
+	@Test(expected=SyntaxException.class)
+	public void testComparedList() throws SyntaxException {
+		new RequestParser(new RequestScanner("/paper:title>A,B").scan()).parse();
+	}
+
+	@Test(expected=SyntaxException.class)
+	public void testComparedWildcard() throws SyntaxException {
+		new RequestParser(new RequestScanner("/paper:title<A*").scan()).parse();
+	}
+
+	@Test(expected=SyntaxException.class)
+	public void testWildcardInList() throws SyntaxException {
+		new RequestParser(new RequestScanner("/paper:title=A*,B").scan()).parse();
+	}
+
+	@Test(expected=SyntaxException.class)
+	public void testComparedOption() throws SyntaxException {
+		new RequestParser(new RequestScanner("/paper$limit>10").scan()).parse();
+	}
 }
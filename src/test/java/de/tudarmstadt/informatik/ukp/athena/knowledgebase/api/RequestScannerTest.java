@@ -154,4 +154,36 @@ public class RequestScannerTest {
 			assertEquals("Element at position " + i++ + " is not the same!", expected.poll(), actual.poll());
 		}
 	}
+
+	@Test
+	public void testOperators() {
+		Deque<RequestToken> actual = new RequestScanner("/paper:a<=1..2&b>x,y*.").scan();
+		Deque<RequestToken> expected = new ArrayDeque<>();
+		int i = 0;
+
+		expected.add(new RequestToken(RequestTokenType.HIERARCHY_SEPARATOR, "/", 0));
+		expected.add(new RequestToken(RequestTokenType.NAME, "paper", 1));
+		expected.add(new RequestToken(RequestTokenType.ATTR_SPECIFIER, ":", 6));
+		expected.add(new RequestToken(RequestTokenType.NAME, "a", 7));
+		expected.add(new RequestToken(RequestTokenType.ATTR_LESS, "<", 8));
+		expected.add(new RequestToken(RequestTokenType.ATTR_EQ, "=", 9));
+		expected.add(new RequestToken(RequestTokenType.NUMBER, "1", 10));
+		expected.add(new RequestToken(RequestTokenType.RANGE, "..", 11));
+		expected.add(new RequestToken(RequestTokenType.NUMBER, "2", 13));
+		expected.add(new RequestToken(RequestTokenType.ATTR_SEPARATOR, "&", 14));
+		expected.add(new RequestToken(RequestTokenType.NAME, "b", 15));
+		expected.add(new RequestToken(RequestTokenType.ATTR_GREATER, ">", 16));
+		expected.add(new RequestToken(RequestTokenType.NAME, "x", 17));
+		expected.add(new RequestToken(RequestTokenType.LIST_SEPARATOR, ",", 18));
+		expected.add(new RequestToken(RequestTokenType.NAME, "y", 19));
+		expected.add(new RequestToken(RequestTokenType.WILDCARD, "*", 20));
+		expected.add(new RequestToken(RequestTokenType.ERROR, ".", 21)); //a single dot is not a range
+		expected.add(new RequestToken(RequestTokenType.END, "<end>", 22));
+
+		assertEquals("Actual size is not equal to expected size!", expected.size(), actual.size());
+
+		while(expected.peek() != null) {
+			assertEquals("Element at position " + i++ + " is not the same!", expected.poll(), actual.poll());
+		}
+	}
 }
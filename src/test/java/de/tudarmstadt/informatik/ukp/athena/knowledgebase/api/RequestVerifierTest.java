@@ -148,4 +148,83 @@ public class RequestVerifierTest
 		assertFalse(RequestVerifier.entityContainsNumericalField("event", "löjkfsd"));
 		assertFalse(RequestVerifier.entityContainsNumericalField("person", "begin"));
 	}
+
+	@Test
+	public void testVerifyCorrectOptions() {
+		try {
+			RequestVerifier uut = new RequestVerifier();
+
+			uut.verify(new RequestParser(new RequestScanner("/paper:topic=vogonpoetry$limit=10&cursor=c2s&fields=title+releaseDate").scan()).parse());
+			assertEquals("Result entity is not correct!", uut.getResultEntity(), "paper");
+		}
+		catch(SyntaxException e) {
+			fail("Syntactically correct request shouldn't throw a syntax exception");
+		}
+		catch(VerificationFailedException e) {
+			fail("Verification shouldn't fail with correct request");
+		}
+	}
+
+	@Test(expected = VerificationFailedException.class)
+	public void testUnknownField() throws VerificationFailedException {
+		try {
+			new RequestVerifier().verify(new RequestParser(new RequestScanner("/paper$fields=title+planet").scan()).parse());
+		}
+		catch(SyntaxException e) {
+			fail("Syntactically correct request shouldn't throw a syntax exception");
+		}
+	}
+
+	@Test(expected = VerificationFailedException.class)
+	public void testPagedCount() throws VerificationFailedException {
+		try {
+			new RequestVerifier().verify(new RequestParser(new RequestScanner("/count/paper$limit=10").scan()).parse());
+		}
+		catch(SyntaxException e) {
+			fail("Syntactically correct request shouldn't throw a syntax exception");
+		}
+	}
+
+	@Test(expected = VerificationFailedException.class)
+	public void testFieldsOfEnhance() throws VerificationFailedException {
+		try {
+			new RequestVerifier().verify(new RequestParser(new RequestScanner("/enhance/paper$fields=title").scan()).parse());
+		}
+		catch(SyntaxException e) {
+			fail("Syntactically correct request shouldn't throw a syntax exception");
+		}
+	}
+
+	@Test
+	public void testVerifyCorrectOperators() {
+		try {
+			new RequestVerifier().verify(new RequestParser(new RequestScanner("/paper:releaseDate>=2018+1+1&releaseDate=2018+1+1..2019+1+1&title=Deep*&topic=a,b").scan()).parse());
+		}
+		catch(SyntaxException e) {
+			fail("Syntactically correct request shouldn't throw a syntax exception");
+		}
+		catch(VerificationFailedException e) {
+			fail("Verification shouldn't fail with correct request");
+		}
+	}
+
+	@Test(expected = VerificationFailedException.class)
+	public void testRangeWithIncorrectSize() throws VerificationFailedException {
+		try {
+			new RequestVerifier().verify(new RequestParser(new RequestScanner("/paper:releaseDate=2018+1+1..2019").scan()).parse());
+		}
+		catch(SyntaxException e) {
+			fail("Syntactically correct request shouldn't throw a syntax exception");
+		}
+	}
+
+	@Test(expected = VerificationFailedException.class)
+	public void testWildcardOnNumberAttribute() throws VerificationFailedException {
+		try {
+			new RequestVerifier().verify(new RequestParser(new RequestScanner("/paper:releaseDate=twenty*").scan()).parse());
+		}
+		catch(SyntaxException e) {
+			fail("Syntactically correct request shouldn't throw a syntax exception");
+		}
+	}
 }
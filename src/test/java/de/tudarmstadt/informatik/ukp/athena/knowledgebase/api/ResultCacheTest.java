@@ -0,0 +1,85 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.api.ast.RequestNode;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.exception.SyntaxException;
+
+public class ResultCacheTest {
+	@Test
+	public void testKeyNormalization() throws SyntaxException {
+		assertEquals(ResultCache.getKey(parse("/conference"), "events.papers, workshops"), ResultCache.getKey(parse("/conference"), "workshops,events.papers,workshops"));
+		assertEquals(ResultCache.getKey(parse("/conference"), null), ResultCache.getKey(parse("/conference"), " "));
+		assertNotEquals(ResultCache.getKey(parse("/conference"), null), ResultCache.getKey(parse("/conference"), "events"));
+		assertNotEquals(ResultCache.getKey(parse("/paper:title=X"), null), ResultCache.getKey(parse("/paper:title=Y"), null));
+		assertNotEquals(ResultCache.getKey(parse("/paper:releaseDate=2018+1+1"), null), ResultCache.getKey(parse("/paper:releaseDate=2018+11"), null));
+		assertNotEquals(ResultCache.getKey(parse("/paper"), null), ResultCache.getKey(parse("/count/paper"), null));
+		assertNotEquals(ResultCache.getKey(parse("/paper$limit=10&cursor=c2s"), null), ResultCache.getKey(parse("/paper$limit=10&cursor=c1a"), null));
+		assertNotEquals(ResultCache.getKey(parse("/paper$limit=10"), null), ResultCache.getKey(parse("/paper$limit=10&fields=title"), null));
+		assertNotEquals(ResultCache.getKey(parse("/paper:title=A"), null), ResultCache.getKey(parse("/paper:title<A"), null));
+		assertNotEquals(ResultCache.getKey(parse("/paper:title=A,B"), null), ResultCache.getKey(parse("/paper:title=A..B"), null));
+	}
+
+	@Test
+	public void testExpiry() {
+		ResultCache cache = new ResultCache(10, Duration.ofMillis(100));
+
+		cache.put("key", "result", entities("paper"), cache.getVersion(), 0);
+		assertEquals("result", cache.get("key", 100));
+		assertNull(cache.get("key", 101));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void testInvalidation() {
+		ResultCache cache = new ResultCache(10, Duration.ofMinutes(1));
+
+		cache.put("papers", "papers", entities("paper"), cache.getVersion());
+		cache.put("authors", "authors", entities("paper", "person"), cache.getVersion());
+		cache.put("conferences", "conferences", entities("conference"), cache.getVersion());
+		cache.invalidate("person");
+		assertEquals("papers", cache.get("papers"));
+		assertNull(cache.get("authors"));
+		assertEquals("conferences", cache.get("conferences"));
+	}
+
+	@Test
+	public void testChangeDuringRequestIsNotCached() {
+		ResultCache cache = new ResultCache(10, Duration.ofMinutes(1));
+		long version = cache.getVersion();
+
+		cache.invalidate("event"); //the result might have been read before or after this change
+		cache.put("papers", "papers", entities("paper"), version);
+		assertNull(cache.get("papers"));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsRemoved() {
+		ResultCache cache = new ResultCache(2, Duration.ofMinutes(1));
+
+		cache.put("paper", "paper", entities("paper"), cache.getVersion());
+		cache.put("person", "person", entities("person"), cache.getVersion());
+		cache.get("paper"); //person is now the least recently used
+		cache.put("event", "event", entities("event"), cache.getVersion());
+		assertNull(cache.get("person"));
+		assertEquals("paper", cache.get("paper"));
+	}
+
+	private Set<String> entities(String... names) {
+		return new HashSet<>(Arrays.asList(names));
+	}
+
+	private RequestNode parse(String request) throws SyntaxException {
+		return new RequestParser(new RequestScanner(request).scan()).parse();
+	}
+}
@@ -0,0 +1,119 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class StreamingResultTest {
+	private final List<String> calls = new ArrayList<>();
+
+	@Test
+	public void testJsonArray() throws IOException {
+		assertEquals("[{\"id\":1},{\"id\":2}]", write(results(2), false));
+		assertEquals(Arrays.asList("close"), calls);
+	}
+
+	@Test
+	public void testNewlineDelimited() throws IOException {
+		assertEquals("{\"id\":1}\n{\"id\":2}\n", write(results(2), true));
+	}
+
+	@Test
+	public void testEmptyResult() throws IOException {
+		assertEquals("[]", write(Collections.emptyList(), false));
+		assertEquals("", write(Collections.emptyList(), true));
+	}
+
+	@Test
+	public void testClearsAfterEveryBatch() throws IOException {
+		String output = write(results(StreamingResult.BATCH_SIZE * 2 + 1), true);
+
+		assertEquals(StreamingResult.BATCH_SIZE * 2 + 1, output.split("\n").length);
+		assertEquals(Arrays.asList("clear", "clear", "close"), calls);
+	}
+
+	@Test
+	public void testClosesEntityManagerOnFailure() {
+		OutputStream failing = new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("client disconnected");
+			}
+		};
+
+		try {
+			new StreamingResult(query(results(StreamingResult.BATCH_SIZE)), entityManager(), new ObjectMapper(), true).writeTo(failing);
+			fail("The write error was swallowed");
+		}
+		catch(IOException e) {
+			assertTrue(calls.contains("close"));
+		}
+	}
+
+	/**
+	 * Streams the given results
+	 * @param results The results of the query
+	 * @param newlineDelimited true for NDJSON, false for a JSON array
+	 * @return What was written to the response
+	 * @throws IOException If writing fails
+	 */
+	private String write(List<?> results, boolean newlineDelimited) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		calls.clear();
+		new StreamingResult(query(results), entityManager(), new ObjectMapper(), newlineDelimited).writeTo(output);
+		return new String(output.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param amount How many results to create
+	 * @return Results with the IDs 1 to amount, like a query that selects fields returns them
+	 */
+	private static List<Map<String,Integer>> results(int amount) {
+		return IntStream.rangeClosed(1, amount).mapToObj(id -> Collections.singletonMap("id", id)).collect(Collectors.toList());
+	}
+
+	/**
+	 * @param results The results the query streams
+	 * @return A query that returns the given results
+	 */
+	private static Query query(List<?> results) {
+		return (Query)Proxy.newProxyInstance(Query.class.getClassLoader(), new Class<?>[] {Query.class}, (proxy, method, args) -> {
+			switch(method.getName()) {
+				case "setHint": return proxy;
+				case "getResultStream": return results.stream();
+				default: throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+
+	/**
+	 * @return An EntityManager that records when it is cleared and closed
+	 */
+	private EntityManager entityManager() {
+		return (EntityManager)Proxy.newProxyInstance(EntityManager.class.getClassLoader(), new Class<?>[] {EntityManager.class}, (proxy, method, args) -> {
+			calls.add(method.getName());
+			return null;
+		});
+	}
+}
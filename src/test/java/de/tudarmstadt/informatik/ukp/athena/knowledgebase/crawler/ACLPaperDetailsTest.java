@@ -0,0 +1,49 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDate;
+
+import org.jsoup.Jsoup;
+import org.junit.Test;
+
+public class ACLPaperDetailsTest {
+	private static final String DETAIL_PAGE = "<dl class=\"dl-horizontal\">"
+			+ "<dt>Anthology:</dt><dd>P18-1001</dd>"
+			+ "<dt>Venue:</dt><dd>ACL | WS</dd>"
+			+ "<dt>Month:</dt><dd>July-August</dd>"
+			+ "<dt>Year:</dt><dd>2018</dd>"
+			+ "</dl>";
+
+	@Test
+	public void testParseRows() {
+		ACLPaperDetails details = ACLPaperDetails.parse(Jsoup.parse(DETAIL_PAGE));
+
+		assertEquals("ACL | WS", details.getVenue());
+		assertEquals("P18-1001", details.get("Anthology"));
+		assertNull(details.get("Pages"));
+	}
+
+	@Test
+	public void testReleaseDate() {
+		ACLPaperDetails details = ACLPaperDetails.parse(Jsoup.parse(DETAIL_PAGE));
+
+		assertEquals(LocalDate.of(2018, 7, 1), details.getReleaseDate());
+	}
+
+	@Test
+	public void testReleaseDateWithoutMonth() {
+		ACLPaperDetails details = ACLPaperDetails.parse(Jsoup.parse("<dl class=\"dl-horizontal\"><dt>Year:</dt><dd>2015</dd></dl>"));
+
+		assertEquals(LocalDate.of(2015, 1, 1), details.getReleaseDate());
+	}
+
+	@Test
+	public void testEmptyPage() {
+		ACLPaperDetails details = ACLPaperDetails.parse(Jsoup.parse("<p>nothing here</p>"));
+
+		assertNull(details.getVenue());
+		assertNull(details.getReleaseDate());
+	}
+}
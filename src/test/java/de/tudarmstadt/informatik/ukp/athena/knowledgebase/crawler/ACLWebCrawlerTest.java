@@ -0,0 +1,42 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler;
+
+import static org.junit.Assert.assertEquals;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.Test;
+
+public class ACLWebCrawlerTest {
+	@Test
+	public void testGetPageCount() {
+		Document doc = Jsoup.parse("<span class=\"page_entries\"><strong>1</strong> - <strong>100</strong> of <strong>1,234</strong></span>");
+
+		assertEquals(13, ACLWebCrawler.getPageCount(doc));
+	}
+
+	@Test
+	public void testGetPageCountExactlyFull() {
+		Document doc = Jsoup.parse("<span class=\"page_entries\"><strong>1</strong> - <strong>100</strong> of <strong>300</strong></span>");
+
+		assertEquals(3, ACLWebCrawler.getPageCount(doc));
+	}
+
+	@Test
+	public void testGetPageCountSinglePage() {
+		Document doc = Jsoup.parse("<span class=\"page_entries\"><strong>42</strong> entries found</span>");
+
+		assertEquals(1, ACLWebCrawler.getPageCount(doc));
+	}
+
+	@Test
+	public void testGetPageCountUnknown() {
+		Document doc = Jsoup.parse("<ul><li><a href=\"?facet.page=2\">Next &raquo;</a></li></ul>");
+
+		assertEquals(-1, ACLWebCrawler.getPageCount(doc));
+	}
+
+	@Test
+	public void testGetPageURL() {
+		assertEquals("https://example.org/catalog?per_page=100&page=3", ACLWebCrawler.getPageURL("https://example.org/catalog?per_page=100", 3));
+	}
+}
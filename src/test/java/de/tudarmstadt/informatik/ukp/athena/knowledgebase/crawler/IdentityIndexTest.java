@@ -0,0 +1,74 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Paper;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
+
+public class IdentityIndexTest {
+	@Test
+	public void testFindKnown() {
+		IdentityIndex<Paper> index = IdentityIndex.ofPapers();
+		Paper known = new Paper();
+
+		known.setTitle("Simple Neologism Based Domain Independent Models");
+		index.add(known);
+		assertSame(known, index.findOrCreate(null, " simple  neologism based domain independent MODELS"));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	public void testCreateOnce() {
+		IdentityIndex<Person> index = IdentityIndex.ofPersons();
+		Person created = index.findOrCreate(null, "Daniel Klingbein");
+
+		assertEquals("Daniel Klingbein", created.getFullName());
+		assertSame(created, index.findOrCreate(null, "Daniel Klingbein"));
+		assertNotSame(created, index.findOrCreate(null, "Arthur Dent"));
+	}
+
+	@Test
+	public void testSemanticScholarIDFirst() {
+		IdentityIndex<Person> index = IdentityIndex.ofPersons();
+		Person byName = new Person();
+		Person byID = new Person();
+
+		byName.setFullName("Daniel Klingbein");
+		byID.setFullName("D. Klingbein");
+		byID.setSemanticScholarID("42");
+		index.addAll(Arrays.asList(byName, byID));
+		assertSame(byID, index.findOrCreate("42", "Daniel Klingbein"));
+		assertSame(byName, index.findOrCreate(null, "Daniel Klingbein"));
+		assertSame(byName, index.findOrCreate("1337", "Daniel Klingbein"));
+		assertSame(byName, index.findOrCreate("1337", null)); //the ID was remembered
+	}
+
+	@Test
+	public void testConcurrentCreation() throws InterruptedException, ExecutionException {
+		IdentityIndex<Person> index = IdentityIndex.ofPersons();
+		ExecutorService threads = Executors.newFixedThreadPool(8);
+		List<Future<Person>> results = new ArrayList<>();
+
+		for(int i = 0; i < 100; i++) {
+			results.add(threads.submit(() -> index.findOrCreate(null, "Daniel Klingbein")));
+		}
+
+		for(Future<Person> result : results) {
+			assertSame(results.get(0).get(), result.get());
+		}
+
+		threads.shutdown();
+	}
+}
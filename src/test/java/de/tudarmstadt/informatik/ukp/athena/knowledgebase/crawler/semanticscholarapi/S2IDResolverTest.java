@@ -0,0 +1,138 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.json.JSONException;
+import org.junit.Test;
+
+public class S2IDResolverTest {
+	@Test
+	public void testRepeatsAreAnsweredFromMemory() throws IOException {
+		AtomicInteger requests = new AtomicInteger();
+		S2IDResolver resolver = new S2IDResolver(name -> {
+			requests.incrementAndGet();
+			return "id-" + name;
+		}, 1000, Duration.ofHours(1));
+
+		assertEquals("id-Iryna Gurevych", resolver.resolve("Iryna Gurevych"));
+		assertEquals("id-Iryna Gurevych", resolver.resolve("iryna  gurevych "));
+		assertEquals(1, requests.get());
+		assertNull(resolver.resolve(null));
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testResolveAll() {
+		AtomicInteger requests = new AtomicInteger();
+		S2IDResolver resolver = new S2IDResolver(name -> {
+			requests.incrementAndGet();
+
+			if(name.equals("Unknown Author"))
+				throw new JSONException("no matching author");
+
+			return "id-" + name;
+		}, 1000, Duration.ofHours(1));
+		Map<String,String> ids = resolver.resolveAll(Arrays.asList("Author A", "Author B", "Author A", "Unknown Author", "Unknown Author"));
+
+		assertEquals(2, ids.size());
+		assertEquals("id-Author B", ids.get("Author B"));
+		assertFalse(ids.containsKey("Unknown Author"));
+		assertEquals(3, requests.get()); //unknown names are remembered as well
+	}
+
+	@Test
+	public void testAnswersExpire() throws IOException {
+		AtomicInteger requests = new AtomicInteger();
+		S2IDResolver resolver = new S2IDResolver(name -> {
+			if(requests.incrementAndGet() == 1)
+				throw new JSONException("not known yet");
+
+			return "id-" + name;
+		}, 1000, Duration.ofMinutes(1));
+
+		assertNull(resolver.resolve("Author A", 0));
+		assertNull(resolver.resolve("Author A", 60000)); //still remembered as unknown
+		assertEquals("id-Author A", resolver.resolve("Author A", 60001));
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	public void testSizeIsBounded() throws IOException {
+		S2IDResolver resolver = new S2IDResolver(name -> "id-" + name, 2, Duration.ofHours(1));
+
+		resolver.resolve("Author A");
+		resolver.resolve("Author B");
+		assertEquals(2, resolver.size());
+		resolver.resolve("Author C");
+		assertEquals(1, resolver.size());
+	}
+
+	@Test
+	public void testFailuresAreRetried() throws IOException {
+		AtomicInteger requests = new AtomicInteger();
+		S2IDResolver resolver = new S2IDResolver(name -> {
+			if(requests.incrementAndGet() == 1)
+				throw new IOException("connection reset");
+
+			return "id-" + name;
+		}, 1000, Duration.ofHours(1));
+
+		try {
+			resolver.resolve("Author A");
+		}
+		catch(IOException e) {}
+
+		assertEquals(0, resolver.size());
+		assertEquals("id-Author A", resolver.resolve("Author A"));
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	public void testConcurrentRequestsAreCoalesced() throws Exception {
+		AtomicInteger requests = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		S2IDResolver resolver = new S2IDResolver(name -> {
+			requests.incrementAndGet();
+
+			try {
+				release.await(5, TimeUnit.SECONDS); //keep the request in flight while the other threads ask
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			return "id-" + name;
+		}, 1000, Duration.ofHours(1));
+		ExecutorService threads = Executors.newFixedThreadPool(8);
+		List<Future<String>> answers = new ArrayList<>();
+
+		for(int i = 0; i < 8; i++) {
+			answers.add(threads.submit(() -> resolver.resolve("Author A")));
+		}
+
+		Thread.sleep(100);
+		release.countDown();
+
+		for(Future<String> answer : answers) {
+			assertEquals("id-Author A", answer.get(5, TimeUnit.SECONDS));
+		}
+
+		threads.shutdown();
+		assertEquals(1, requests.get());
+	}
+}
@@ -0,0 +1,123 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.crawler.semanticscholarapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+import javax.net.ssl.HttpsURLConnection;
+
+import org.jsoup.HttpStatusException;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.ResponseCache;
+
+public class SemanticScholarAPIRequestUnitTest {
+	private static final String response = "{\"name\":\"Iryna Gurevych\",\"title\":\"Überblick über Ähnlichkeit\"}";
+	private static final String url = SemanticScholarAPIRequest.semanticScholarInternalApiUrl + "/search";
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@After
+	public void resetCache() {
+		SemanticScholarAPIRequest.setCache(null);
+	}
+
+	@Test
+	public void readToStringTest() throws IOException {
+		byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(response, SemanticScholarAPIRequest.readToString(new ByteArrayInputStream(bytes), null, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void readToStringGzipTest() throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		StringBuilder longResponse = new StringBuilder();
+
+		for(int i = 0; i < 1000; i++) { //longer than the read buffer
+			longResponse.append(response);
+		}
+
+		try(GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+			gzip.write(longResponse.toString().getBytes(StandardCharsets.UTF_8));
+		}
+
+		assertEquals(longResponse.toString(), SemanticScholarAPIRequest.readToString(new ByteArrayInputStream(compressed.toByteArray()), "gzip", StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void getCharsetTest() {
+		assertEquals(StandardCharsets.UTF_8, SemanticScholarAPIRequest.getCharset(null));
+		assertEquals(StandardCharsets.UTF_8, SemanticScholarAPIRequest.getCharset("application/json"));
+		assertEquals(StandardCharsets.ISO_8859_1, SemanticScholarAPIRequest.getCharset("text/html; Charset=\"ISO-8859-1\""));
+		assertEquals(StandardCharsets.UTF_8, SemanticScholarAPIRequest.getCharset("text/html; charset=unknown-charset"));
+	}
+
+	@Test
+	public void isRetryableTest() {
+		assertTrue(SemanticScholarAPIRequest.isRetryable(429));
+		assertTrue(SemanticScholarAPIRequest.isRetryable(500));
+		assertTrue(SemanticScholarAPIRequest.isRetryable(503));
+		assertFalse(SemanticScholarAPIRequest.isRetryable(400));
+		assertFalse(SemanticScholarAPIRequest.isRetryable(404));
+	}
+
+	@Test
+	public void cachedResponseTest() throws Exception {
+		new ResponseCache(folder.getRoot().toPath(), Duration.ZERO, false).put(SemanticScholarAPIRequest.getCacheKey("POST", url, "{\"queryString\":\"test\"}"), null, null, "UTF-8", response.getBytes(StandardCharsets.UTF_8));
+		SemanticScholarAPIRequest.setCache(new ResponseCache(folder.getRoot().toPath(), Duration.ZERO, true)); //replays the response without connecting
+
+		SemanticScholarAPIRequest request = new TestRequest("test");
+
+		request.safeRun();
+		assertEquals("200", request.getHTTPResponseCode());
+		assertEquals("Iryna Gurevych", request.getParsedJSONResponse().getString("name"));
+	}
+
+	@Test(expected = HttpStatusException.class)
+	public void offlineCacheMissTest() throws Exception {
+		SemanticScholarAPIRequest.setCache(new ResponseCache(folder.getRoot().toPath(), Duration.ZERO, true));
+		new TestRequest("not cached").safeRun();
+	}
+
+	@Test
+	public void cacheKeyTest() {
+		assertEquals(SemanticScholarAPIRequest.getCacheKey("GET", url, null), SemanticScholarAPIRequest.getCacheKey("GET", url, null));
+		assertFalse(SemanticScholarAPIRequest.getCacheKey("POST", url, "a").equals(SemanticScholarAPIRequest.getCacheKey("POST", url, "b")));
+		assertTrue(SemanticScholarAPIRequest.getCacheKey("GET", url, null).startsWith("s2v" + SemanticScholarAPIRequest.cacheVersion + " "));
+	}
+
+	/**
+	 * A request with a fixed payload
+	 */
+	private static class TestRequest extends SemanticScholarAPIRequest {
+		private String query;
+
+		private TestRequest(String query) {
+			this.query = query;
+		}
+
+		@Override
+		public void setQuery(String query) {
+			this.query = query;
+		}
+
+		@Override
+		public void run() throws IOException {
+			HttpsURLConnection connection = openConnection(url);
+
+			connection.setRequestMethod("POST");
+			send(connection, "{\"queryString\":\"" + query + "\"}");
+		}
+	}
+}
@@ -3,6 +3,7 @@ package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -109,6 +110,78 @@ public class PaperJPAAccessTest {
 		testDB.createDB();//Don't pollute the Database
 	}
 
+	@Test
+	public void addAllTest() {
+		List<Paper> papers = new ArrayList<>();
+		Person sharedAuthor = new Person();
+		sharedAuthor.setFullName("sharedAuthor");
+
+		for (int i = 0; i < 5; i++) {
+			Paper paper = new Paper();
+			paper.setTitle("BatchTitle" + i);
+			paper.addAuthor(sharedAuthor);
+			papers.add(paper);
+		}
+
+		uut.addAll(papers, 2);
+		assertEquals(testDB.getPaperQuantity() + 5, uut.get().size());
+		for (Paper paper : papers) {
+			assertTrue(paper.getPaperID() != 0);
+			assertEquals(1, getByPaperID(paper.getPaperID()).size());
+			assertEquals(1, paper.getAuthors().size()); //given back after saving
+		}
+		assertTrue(sharedAuthor.getPersonID() != 0);
+		assertEquals(5, PersistenceManager.getEntityManager().find(Person.class, sharedAuthor.getPersonID()).getPapers().size());
+		testDB.createDB();//Don't pollute the Database
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void addAllInTransactionTest() {
+		List<Paper> papers = new ArrayList<>();
+
+		papers.add(new Paper());
+		PersistenceManager.runInTransaction(entityManager -> uut.addAll(papers, 2));
+	}
+
+	@Test
+	public void getPageTest() {
+		List<Paper> firstPage = uut.get(0, 2);
+		List<Paper> secondPage = uut.get(2, 2);
+		assertEquals(2, firstPage.size());
+		assertEquals(2, secondPage.size());
+		assertTrue(firstPage.get(1).getPaperID() < secondPage.get(0).getPaperID());
+		assertEquals(0, uut.get(testDB.getPaperQuantity(), 2).size());
+	}
+
+	@Test
+	public void streamTest() {
+		try (Stream<Paper> papers = uut.stream()) {
+			assertEquals(testDB.getPaperQuantity(), papers.count());
+		}
+	}
+
+	@Test
+	public void streamWhileSavingTest() {
+		try (Stream<Paper> papers = uut.stream()) {
+			papers.forEach(paper -> {
+				paper.setTopic("streamed");
+				PersistenceManager.runInTransaction(entityManager -> entityManager.merge(paper)); //commits while the cursor is open
+			});
+		}
+		PersistenceManager.getEntityManager().clear();
+		for (Paper paper : uut.get()) {
+			assertEquals("streamed", paper.getTopic());
+		}
+		testDB.createDB();//Don't pollute the Database
+	}
+
+	@Test
+	public void deleteAllTest() {
+		uut.deleteAll(uut.get(0, 2));
+		assertEquals(testDB.getPaperQuantity() - 2, uut.get().size());
+		testDB.createDB();//Don't pollute the Database
+	}
+
 	@Test
 	public void getBySemanticScholarIDTest() {
 		Paper testPaper = uut.getBySemanticScholarID("22481184");
@@ -0,0 +1,79 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.persistence.EntityManager;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.JPATestdatabase;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
+
+public class PersistenceManagerTest {
+
+	static JPATestdatabase testDB;
+	static ConfigurableApplicationContext ctx;
+
+	@BeforeClass
+	public static void setUpDatabase() {
+		ctx = SpringApplication.run(JPATestdatabase.class,"");
+		testDB = new JPATestdatabase();
+		testDB.createDB();
+	}
+
+	@AfterClass
+	public static void shutdownDatabase() {
+		ctx.close();
+	}
+
+	@Test
+	public void entityManagerPerThreadTest() throws InterruptedException {
+		EntityManager own = PersistenceManager.getEntityManager();
+		AtomicReference<EntityManager> other = new AtomicReference<>();
+		Thread thread = new Thread(() -> other.set(PersistenceManager.getEntityManager()));
+
+		thread.start();
+		thread.join();
+		assertSame(own, PersistenceManager.getEntityManager());
+		assertNotSame(own, other.get());
+	}
+
+	@Test
+	public void closeEntityManagerTest() {
+		EntityManager old = PersistenceManager.getEntityManager();
+
+		PersistenceManager.closeEntityManager();
+		assertFalse(old.isOpen());
+		assertNotSame(old, PersistenceManager.getEntityManager());
+	}
+
+	@Test
+	public void rollbackOnExceptionTest() {
+		int before = new PersonJPAAccess().get().size();
+
+		try {
+			PersistenceManager.runInTransaction(entityManager -> {
+				Person person = new Person();
+				person.setFullName("rolledBack");
+				entityManager.persist(person);
+				throw new IllegalStateException("abort");
+			});
+			fail("exception was swallowed");
+		}
+		catch(IllegalStateException e) {}
+
+		assertFalse(PersistenceManager.getEntityManager().getTransaction().isActive());
+		PersistenceManager.closeEntityManager(); //drop the rolled back person from the persistence context
+		assertEquals(before, new PersonJPAAccess().get().size());
+	}
+}
@@ -0,0 +1,28 @@
+package de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.jpa.SchemaVerifier.ExpectedIndex;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Conference;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Paper;
+import de.tudarmstadt.informatik.ukp.athena.knowledgebase.database.models.Person;
+
+public class SchemaVerifierTest {
+	@Test
+	public void testExpectedIndexes() {
+		List<ExpectedIndex> indexes = SchemaVerifier.getExpectedIndexes(Arrays.asList(Person.class, Paper.class, Conference.class));
+
+		assertEquals("Wrong amount of indexes!", 5, indexes.size());
+		assertTrue("Person name is not indexed!", indexes.stream().anyMatch(index -> index.toString().equals("person (fullName)")));
+		assertTrue("Person S2 ID is not indexed!", indexes.stream().anyMatch(index -> index.toString().equals("person (semanticScholarID)")));
+		assertTrue("Paper S2 ID is not indexed!", indexes.stream().anyMatch(index -> index.toString().equals("paper (semanticScholarID)")));
+		assertTrue("Paper anthology is not indexed!", indexes.stream().anyMatch(index -> index.toString().equals("paper (anthology)")));
+		assertTrue("Paper title is not indexed!", indexes.stream().anyMatch(index -> index.toString().equals("paper (title(255))")));
+	}
+}
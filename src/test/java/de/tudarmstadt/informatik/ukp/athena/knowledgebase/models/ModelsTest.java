@@ -191,4 +191,27 @@ public class ModelsTest{
 		assertEquals(1, ((Person) uut).getPapers().size() );
 		assertEquals(1, testPaper.getAuthors().size() );
 	}
+
+	@Test
+	public void equalsWithoutIDIgnoresIDsTest() {
+		Person uut = new Person();
+		Person author1 = new Person();
+		uut.setFullName("test1");
+		uut.setPersonID(1);
+		uut.setSemanticScholarID("1");
+		author1.setFullName("test1");
+		author1.setPersonID(2);
+		author1.setSemanticScholarID("2");
+		assertTrue(uut.equalsWithoutID(author1));
+		assertTrue(uut.equalsNullAsWildcard(author1));
+	}
+
+	@Test
+	public void getIDTest() {
+		Person person = new Person();
+		person.setPersonID(42);
+		assertEquals(42L, person.getID());
+		Conference conference = new Conference();
+		assertEquals(0L, conference.getID());
+	}
 }